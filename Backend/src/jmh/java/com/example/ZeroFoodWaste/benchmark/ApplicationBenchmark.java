@@ -0,0 +1,110 @@
+package com.example.ZeroFoodWaste.benchmark;
+
+import com.example.ZeroFoodWaste.ZeroFoodWasteApplication;
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.entity.Establishment;
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import com.example.ZeroFoodWaste.repository.DonationRepository;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import com.example.ZeroFoodWaste.service.DonationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository queries and the login path inside the real application context, against the
+ * in-memory H2 in PostgreSQL mode of the test configuration, seeded with
+ * {@value #DONATIONS} donations over {@value #STORES} stores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ApplicationBenchmark {
+
+    private static final int STORES = 20;
+    private static final int DONATIONS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private DonationRepository donationRepository;
+    private AuthenticationManager authenticationManager;
+    private Long establishmentId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ZeroFoodWasteApplication.class)
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+                .run();
+        donationRepository = context.getBean(DonationRepository.class);
+        authenticationManager = context.getBean(AuthenticationManager.class);
+
+        EstablishmentRepository establishments = context.getBean(EstablishmentRepository.class);
+        List<Long> storeIds = new ArrayList<>();
+        for (int i = 0; i < STORES; i++) {
+            Establishment store = new Establishment();
+            store.setName("Benchmark store " + i);
+            store.setAddress("Benchmark avenue " + i);
+            store.setContactPhone("555-66" + i);
+            storeIds.add(establishments.save(store).getId());
+        }
+        establishmentId = storeIds.get(0);
+        DonationService donationService = context.getBean(DonationService.class);
+        Random random = new Random(BenchmarkData.SEED);
+        for (int done = 0; done < DONATIONS; done += DonationService.MAX_BULK_SIZE) {
+            donationService.createDonations(BenchmarkData.newDonations(storeIds, DonationService.MAX_BULK_SIZE, random));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<DonationResponseDTO> firstPageByExpiration() {
+        return donationRepository.findFirstPageByExpirationDate(DonationStatus.AVAILABLE, null, null, Limit.of(20));
+    }
+
+    @Benchmark
+    public List<DonationResponseDTO> donationsOfEstablishment() {
+        return donationRepository.findDTOByEstablishmentId(establishmentId);
+    }
+
+    @Benchmark
+    public List<DonationResponseDTO> allAvailable() {
+        return donationRepository.findDTOByStatus(DonationStatus.AVAILABLE);
+    }
+
+    /**
+     * What POST /auth/login does before issuing the token: user lookup and BCrypt check.
+     */
+    @Benchmark
+    public Authentication login() {
+        return authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken("estab1@example.com", "pass123"));
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.ZeroFoodWaste.benchmark;
+
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.model.entity.Donation;
+import com.example.ZeroFoodWaste.model.entity.DonationAssignment;
+import com.example.ZeroFoodWaste.model.entity.Establishment;
+import com.example.ZeroFoodWaste.model.entity.FoodBank;
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import com.example.ZeroFoodWaste.service.GeoPoint;
+import com.example.ZeroFoodWaste.service.MatchingBank;
+import com.example.ZeroFoodWaste.service.OfflineGeocoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeded inputs shared by the benchmarks, so two runs measure the same data.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42;
+    static final String JWT_SECRET = "una-clave-larga-y-bien-aleatoria-para-hs256-123456";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Donation entities as Hibernate hands them to the mapper, a third of them reserved.
+     */
+    static List<Donation> donations(int count) {
+        Random random = new Random(SEED);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<Establishment> stores = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Establishment store = new Establishment();
+            store.setId((long) i + 1);
+            store.setName("Store " + i);
+            stores.add(store);
+        }
+        FoodBank foodBank = new FoodBank();
+        foodBank.setId(1L);
+        foodBank.setName("Food bank");
+
+        List<Donation> donations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Donation donation = new Donation(stores.get(random.nextInt(stores.size())), "Item " + i,
+                    "End of day surplus", 1 + random.nextInt(20), random.nextBoolean() ? "kg" : "units",
+                    now.plusHours(random.nextInt(72)), DonationStatus.AVAILABLE);
+            donation.setId((long) i + 1);
+            donation.setCreatedAt(now);
+            donation.setUpdatedAt(now);
+            if (i % 3 == 0) {
+                donation.setStatus(DonationStatus.RESERVED);
+                DonationAssignment assignment = new DonationAssignment(donation, foodBank);
+                assignment.setId((long) i + 1);
+                assignment.setAcceptedAt(now);
+                donation.setAssignment(assignment);
+            }
+            donations.add(donation);
+        }
+        return donations;
+    }
+
+    static List<DonationResponseDTO> donationDTOs(int count) {
+        List<DonationResponseDTO> dtos = new ArrayList<>(count);
+        for (Donation d : donations(count)) {
+            DonationAssignment a = d.getAssignment();
+            dtos.add(new DonationResponseDTO(d.getId(), d.getEstablishment().getId(), a == null ? null : a.getId(),
+                    d.getProductName(), d.getDescription(), d.getQuantity(), d.getUnit(), d.getExpirationDate(),
+                    d.getStatus(), d.getEstablishment().getName(), a == null ? null : a.getFoodBank().getName(),
+                    d.getCreatedAt(), d.getEstablishment().getLatitude(), d.getEstablishment().getLongitude()));
+        }
+        return dtos;
+    }
+
+    static List<NewDonationDTO> newDonations(List<Long> establishmentIds, int count, Random random) {
+        List<NewDonationDTO> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            NewDonationDTO dto = new NewDonationDTO();
+            dto.setEstablishmentId(establishmentIds.get(random.nextInt(establishmentIds.size())));
+            dto.setProductName("Benchmark item " + i);
+            dto.setDescription("End of day surplus");
+            dto.setQuantity(1 + random.nextInt(20));
+            dto.setUnit(random.nextBoolean() ? "kg" : "units");
+            dto.setExpirationDate(LocalDateTime.now().plusHours(12 + random.nextInt(72)));
+            rows.add(dto);
+        }
+        return rows;
+    }
+
+    /**
+     * AVAILABLE donations from 2,000 stores spread over a 30 km wide city, expiring over the
+     * next three days.
+     */
+    static List<DonationResponseDTO> locatedDonations(int count) {
+        Random random = new Random(SEED);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        OfflineGeocoder geocoder = new OfflineGeocoder(40.4168, -3.7038, 15);
+        List<GeoPoint> stores = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) stores.add(geocoder.geocode("Store " + i).orElseThrow());
+
+        List<DonationResponseDTO> dtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int store = random.nextInt(stores.size());
+            dtos.add(new DonationResponseDTO((long) i + 1, (long) store + 1, null, "Item " + i, null,
+                    1 + random.nextInt(20), random.nextBoolean() ? "kg" : "units", now.plusHours(1 + random.nextInt(72)),
+                    DonationStatus.AVAILABLE, "Store " + store, null, now,
+                    stores.get(store).latitude(), stores.get(store).longitude()));
+        }
+        return dtos;
+    }
+
+    /**
+     * Food banks in the same city as {@link #locatedDonations}, half of them with a history
+     * leaning to one unit.
+     */
+    static List<MatchingBank> matchingBanks(int count) {
+        Random random = new Random(SEED);
+        OfflineGeocoder geocoder = new OfflineGeocoder(40.4168, -3.7038, 15);
+        List<MatchingBank> banks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double kgShare = random.nextDouble();
+            Map<String, MatchingBank.UnitHistory> units = i % 2 == 0 ? Map.of() : Map.of(
+                    "kg", new MatchingBank.UnitHistory(kgShare, 1 + random.nextInt(20)),
+                    "units", new MatchingBank.UnitHistory(1 - kgShare, 1 + random.nextInt(20)));
+            banks.add(new MatchingBank((long) i + 1, geocoder.geocode("Food bank " + i).orElseThrow(), units));
+        }
+        return banks;
+    }
+}
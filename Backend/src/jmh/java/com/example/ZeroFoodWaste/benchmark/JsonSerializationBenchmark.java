@@ -0,0 +1,50 @@
+package com.example.ZeroFoodWaste.benchmark;
+
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson writing the {@code List<DonationResponseDTO>} bodies of the listing endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "500"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<DonationResponseDTO> donations;
+
+    @Setup
+    public void setUp() {
+        writer = JsonMapper.builder().build().writerFor(new TypeReference<List<DonationResponseDTO>>() {
+        });
+        donations = BenchmarkData.donationDTOs(size);
+    }
+
+    @Benchmark
+    public byte[] writeList() {
+        return writer.writeValueAsBytes(donations);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.ZeroFoodWaste.benchmark;
+
+import com.example.ZeroFoodWaste.config.JwtClaimsCache;
+import com.example.ZeroFoodWaste.config.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtUtils}: issuing a token at login and reading it back on authenticated requests,
+ * verifying the signature every time or once through {@link JwtClaimsCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private JwtClaimsCache claimsCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(BenchmarkData.JWT_SECRET, 3_600_000);
+        claimsCache = new JwtClaimsCache(jwtUtils, new SimpleMeterRegistry(), 10_000);
+        token = jwtUtils.generateToken("estab1@example.com");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken("estab1@example.com");
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtils.extractUsername(token);
+    }
+
+    @Benchmark
+    public String verifyCached() {
+        return claimsCache.verify(token).email();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.ZeroFoodWaste.benchmark;
+
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.entity.Donation;
+import com.example.ZeroFoodWaste.model.mapper.DonationResponseMapper;
+import com.example.ZeroFoodWaste.model.mapper.DonationResponseMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DonationResponseMapper}, as used by every endpoint that still maps entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+    @Param({"20", "500"})
+    private int size;
+
+    private final DonationResponseMapper mapper = new DonationResponseMapperImpl();
+    private List<Donation> donations;
+
+    @Setup
+    public void setUp() {
+        donations = BenchmarkData.donations(size);
+    }
+
+    @Benchmark
+    public DonationResponseDTO toDTO() {
+        return mapper.toDTO(donations.get(0));
+    }
+
+    @Benchmark
+    public List<DonationResponseDTO> toDTOList() {
+        return mapper.toDTOList(donations);
+    }
+}
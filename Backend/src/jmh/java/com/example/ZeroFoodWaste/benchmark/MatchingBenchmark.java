@@ -0,0 +1,65 @@
+package com.example.ZeroFoodWaste.benchmark;
+
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.MatchingPlanDTO;
+import com.example.ZeroFoodWaste.service.DonationMatcher;
+import com.example.ZeroFoodWaste.service.MatchingBank;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DonationMatcher}: time to solve one batch as the number of AVAILABLE donations grows,
+ * with 200 food banks, on every core and on one. The time budget is lifted so every run
+ * solves the whole batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MatchingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int donations;
+
+    @Param({"0", "1"})
+    private int parallelism;
+
+    private DonationMatcher matcher;
+    private List<DonationResponseDTO> batch;
+    private List<MatchingBank> banks;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        matcher = new DonationMatcher(parallelism, 600_000, 25, 1_000, 0.4, 0.3, 0.2, 0.1);
+        batch = BenchmarkData.locatedDonations(donations);
+        banks = BenchmarkData.matchingBanks(200);
+        now = LocalDateTime.of(2025, 1, 1, 12, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        matcher.close();
+    }
+
+    @Benchmark
+    public MatchingPlanDTO solve() {
+        return matcher.solve(batch, banks, now);
+    }
+}
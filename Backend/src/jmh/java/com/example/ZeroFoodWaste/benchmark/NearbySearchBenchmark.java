@@ -0,0 +1,67 @@
+package com.example.ZeroFoodWaste.benchmark;
+
+import com.example.ZeroFoodWaste.event.DonationChangedEvent;
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.NearbyDonationDTO;
+import com.example.ZeroFoodWaste.model.enums.DonationChangeType;
+import com.example.ZeroFoodWaste.service.AvailableDonationIndex;
+import com.example.ZeroFoodWaste.service.DonationService;
+import com.example.ZeroFoodWaste.service.GeoPoint;
+import com.example.ZeroFoodWaste.service.OfflineGeocoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AvailableDonationIndex#nearby}: one lookup of the default page size around points of
+ * the city of {@link BenchmarkData#locatedDonations}, for the default and the largest radius.
+ * The points rotate so consecutive lookups land in different cells.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class NearbySearchBenchmark {
+
+    private static final int POINTS = 1024;
+
+    @Param({"10000", "100000"})
+    private int donations;
+
+    @Param({"5", "50"})
+    private double radiusKm;
+
+    private AvailableDonationIndex index;
+    private GeoPoint[] points;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        index = new AvailableDonationIndex(null);
+        for (DonationResponseDTO dto : BenchmarkData.locatedDonations(donations)) {
+            index.onDonationChanged(new DonationChangedEvent(DonationChangeType.CREATED, null, dto));
+        }
+        OfflineGeocoder geocoder = new OfflineGeocoder(40.4168, -3.7038, 15);
+        points = new GeoPoint[POINTS];
+        for (int i = 0; i < POINTS; i++) points[i] = geocoder.geocode("Lookup " + i).orElseThrow();
+    }
+
+    @Benchmark
+    public List<NearbyDonationDTO> nearby() {
+        GeoPoint point = points[next++ & (POINTS - 1)];
+        return index.nearby(point, radiusKm, DonationService.DEFAULT_PAGE_SIZE);
+    }
+}
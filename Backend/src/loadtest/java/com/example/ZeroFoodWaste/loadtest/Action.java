@@ -0,0 +1,36 @@
+package com.example.ZeroFoodWaste.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Requests of the dashboard traffic mix, with their share of the traffic.
+ */
+enum Action {
+    // food banks
+    LIST_AVAILABLE(40),
+    RESERVE(10),
+    CANCEL(5),
+    // establishments
+    POST_DONATION(15),
+    LIST_OWN_DONATIONS(20),
+    // both
+    LOGIN(10);
+
+    private static final int TOTAL_WEIGHT = Arrays.stream(values()).mapToInt(a -> a.weight).sum();
+
+    final int weight;
+
+    Action(int weight) {
+        this.weight = weight;
+    }
+
+    static Action pick(Random random) {
+        int roll = random.nextInt(TOTAL_WEIGHT);
+        for (Action action : values()) {
+            roll -= action.weight;
+            if (roll < 0) return action;
+        }
+        throw new IllegalStateException();
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.ZeroFoodWaste.loadtest;
+
+import com.example.ZeroFoodWaste.ZeroFoodWasteApplication;
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.model.entity.Establishment;
+import com.example.ZeroFoodWaste.model.entity.FoodBank;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import com.example.ZeroFoodWaste.repository.FoodBankRepository;
+import com.example.ZeroFoodWaste.service.DonationService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the application on a random port against the in-memory H2 of the test configuration,
+ * seeds stores, food banks and donations, and replays dashboard traffic over HTTP: food banks
+ * listing AVAILABLE donations, reserving and cancelling, establishments posting donations and
+ * viewing their own, and logins. Prints throughput and latency percentiles per request type.
+ * <p>
+ * Run with {@code mvn -Pload-test verify -DskipTests}, options through
+ * {@code -Dloadtest.args="--users=32 --rate=400 --duration=120"}; see {@link LoadTestOptions}.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        // DevTools would restart the application in a new class loader, running main() again
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ZeroFoodWasteApplication.class)
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN",
+                        // lost reservation races are part of the mix, not worth a warning each
+                        "logging.level.org.springframework.web=ERROR")
+                .run();
+        try {
+            run(context, options);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(ConfigurableApplicationContext context, LoadTestOptions options) throws Exception {
+        Random random = new Random(options.seed());
+        List<Long> stores = new ArrayList<>();
+        List<Long> foodBanks = new ArrayList<>();
+        context.getBean(EstablishmentRepository.class).findAll().forEach(e -> stores.add(e.getId()));
+        context.getBean(FoodBankRepository.class).findAll().forEach(f -> foodBanks.add(f.getId()));
+        seed(context, options, random, stores, foodBanks);
+
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        LoadTestResults results = new LoadTestResults();
+
+        // each user sends rate / users requests per second, offset so they do not fire together
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) * options.users() / options.rate();
+        long begin = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long recordFrom = begin + options.warmup().toNanos();
+        long end = recordFrom + options.duration().toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(options.users());
+        for (int i = 0; i < options.users(); i++) {
+            pool.execute(new VirtualUser(client, jsonMapper, baseUrl,
+                    foodBanks.get(random.nextInt(foodBanks.size())), stores.get(random.nextInt(stores.size())),
+                    random.nextLong(), intervalNanos, begin + intervalNanos * i / options.users(), end, results));
+        }
+
+        System.out.printf("%d users, %d req/s for %ds after %ds of warm-up, seed %d%n", options.users(),
+                options.rate(), options.duration().toSeconds(), options.warmup().toSeconds(), options.seed());
+        TimeUnit.NANOSECONDS.sleep(recordFrom - System.nanoTime());
+        results.reset();
+        pool.shutdown();
+        if (!pool.awaitTermination(options.duration().toSeconds() + 60, TimeUnit.SECONDS)) pool.shutdownNow();
+        double seconds = (System.nanoTime() - recordFrom) / 1e9;
+        results.report(System.out, seconds, Path.of(options.reportDir()));
+    }
+
+    private static void seed(ConfigurableApplicationContext context, LoadTestOptions options, Random random,
+                             List<Long> stores, List<Long> foodBanks) {
+        EstablishmentRepository establishmentRepository = context.getBean(EstablishmentRepository.class);
+        for (int i = 0; i < options.stores(); i++) {
+            Establishment store = new Establishment();
+            store.setName("Load test store " + i);
+            store.setAddress("Load test avenue " + i);
+            store.setContactPhone("555-88" + i);
+            stores.add(establishmentRepository.save(store).getId());
+        }
+        FoodBankRepository foodBankRepository = context.getBean(FoodBankRepository.class);
+        for (int i = 0; i < options.foodBanks(); i++) {
+            FoodBank foodBank = new FoodBank();
+            foodBank.setName("Load test food bank " + i);
+            foodBank.setAddress("Load test street " + i);
+            foodBank.setContactPhone("555-99" + i);
+            foodBanks.add(foodBankRepository.save(foodBank).getId());
+        }
+        DonationService donationService = context.getBean(DonationService.class);
+        for (int done = 0; done < options.donations(); ) {
+            int size = Math.min(DonationService.MAX_BULK_SIZE, options.donations() - done);
+            List<NewDonationDTO> rows = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                NewDonationDTO dto = new NewDonationDTO();
+                dto.setEstablishmentId(stores.get(random.nextInt(stores.size())));
+                dto.setProductName("Seeded item " + (done + i));
+                dto.setDescription("End of day surplus");
+                dto.setQuantity(1 + random.nextInt(20));
+                dto.setUnit(random.nextBoolean() ? "kg" : "units");
+                dto.setExpirationDate(LocalDateTime.now().plusHours(12 + random.nextInt(72)));
+                rows.add(dto);
+            }
+            donationService.createDonations(rows);
+            done += size;
+        }
+    }
+}
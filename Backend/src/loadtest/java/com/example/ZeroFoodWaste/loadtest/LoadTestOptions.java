@@ -0,0 +1,50 @@
+package com.example.ZeroFoodWaste.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Command line of {@link LoadTest}, every option as {@code --name=value}.
+ *
+ * @param seed         drives the seeded data and every virtual user's choices
+ * @param users        concurrent virtual users, one thread each
+ * @param rate         requests per second across all users, paced on a fixed schedule
+ * @param warmup       traffic sent before recording starts
+ * @param duration     recorded traffic
+ * @param stores       establishments seeded besides the sample ones
+ * @param foodBanks    food banks seeded besides the sample ones
+ * @param donations    AVAILABLE donations seeded before the run
+ * @param reportDir    where the percentile distributions are written
+ */
+record LoadTestOptions(long seed, int users, int rate, Duration warmup, Duration duration,
+                       int stores, int foodBanks, int donations, String reportDir) {
+
+    static LoadTestOptions parse(String[] args) {
+        long seed = 42;
+        int users = 16;
+        int rate = 200;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(60);
+        int stores = 50;
+        int foodBanks = 20;
+        int donations = 20_000;
+        String reportDir = "target/loadtest";
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("expected --name=value: " + arg);
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "seed" -> seed = Long.parseLong(value);
+                case "users" -> users = Integer.parseInt(value);
+                case "rate" -> rate = Integer.parseInt(value);
+                case "warmup" -> warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "duration" -> duration = Duration.ofSeconds(Long.parseLong(value));
+                case "stores" -> stores = Integer.parseInt(value);
+                case "food-banks" -> foodBanks = Integer.parseInt(value);
+                case "donations" -> donations = Integer.parseInt(value);
+                case "report-dir" -> reportDir = value;
+                default -> throw new IllegalArgumentException("unknown option: " + arg);
+            }
+        }
+        return new LoadTestOptions(seed, users, rate, warmup, duration, stores, foodBanks, donations, reportDir);
+    }
+}
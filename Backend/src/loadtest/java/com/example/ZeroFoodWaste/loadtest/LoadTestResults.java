@@ -0,0 +1,88 @@
+package com.example.ZeroFoodWaste.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms in microseconds and outcome counts, per {@link Action}. Recording is
+ * lock-free; {@link #reset()} drops everything recorded so far, at the end of the warm-up.
+ */
+class LoadTestResults {
+
+    // up to one minute with 3 significant digits
+    private static final long HIGHEST_MICROS = 60_000_000;
+
+    private final Map<Action, Recorder> recorders = new EnumMap<>(Action.class);
+    private final Map<Action, LongAdder> conflicts = new EnumMap<>(Action.class);
+    private final Map<Action, LongAdder> errors = new EnumMap<>(Action.class);
+
+    LoadTestResults() {
+        for (Action action : Action.values()) {
+            recorders.put(action, new Recorder(HIGHEST_MICROS, 3));
+            conflicts.put(action, new LongAdder());
+            errors.put(action, new LongAdder());
+        }
+    }
+
+    /**
+     * @param status HTTP status, -1 when no response came back; 409 is a lost race for a
+     *               donation and counted apart from errors
+     */
+    void record(Action action, int status, long micros) {
+        recorders.get(action).recordValue(Math.min(micros, HIGHEST_MICROS));
+        if (status == 409) {
+            conflicts.get(action).increment();
+        } else if (status < 200 || status >= 400) {
+            errors.get(action).increment();
+        }
+    }
+
+    void reset() {
+        for (Action action : Action.values()) {
+            recorders.get(action).reset();
+            conflicts.get(action).reset();
+            errors.get(action).reset();
+        }
+    }
+
+    /**
+     * Prints the summary table and writes one HdrHistogram percentile distribution per action
+     * (values in milliseconds) to the report directory.
+     */
+    void report(PrintStream out, double seconds, Path reportDir) throws IOException {
+        Files.createDirectories(reportDir);
+        Histogram total = new Histogram(HIGHEST_MICROS, 3);
+        out.printf("%n%-20s %9s %9s %8s %8s %9s %9s %9s %9s %9s%n", "action", "requests", "req/s",
+                "errors", "409", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Action action : Action.values()) {
+            Histogram histogram = recorders.get(action).getIntervalHistogram();
+            total.add(histogram);
+            line(out, action.name(), histogram, seconds, errors.get(action).sum(), conflicts.get(action).sum());
+            try (PrintStream file = new PrintStream(reportDir.resolve(action.name().toLowerCase() + ".hgrm").toFile())) {
+                histogram.outputPercentileDistribution(file, 1000.0);
+            }
+        }
+        long totalErrors = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        long totalConflicts = conflicts.values().stream().mapToLong(LongAdder::sum).sum();
+        line(out, "TOTAL", total, seconds, totalErrors, totalConflicts);
+        try (PrintStream file = new PrintStream(reportDir.resolve("total.hgrm").toFile())) {
+            total.outputPercentileDistribution(file, 1000.0);
+        }
+    }
+
+    private void line(PrintStream out, String name, Histogram h, double seconds, long errors, long conflicts) {
+        out.printf("%-20s %9d %9.1f %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, h.getTotalCount(),
+                h.getTotalCount() / seconds, errors, conflicts,
+                h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(90) / 1000.0,
+                h.getValueAtPercentile(99) / 1000.0, h.getValueAtPercentile(99.9) / 1000.0,
+                h.getMaxValue() / 1000.0);
+    }
+}
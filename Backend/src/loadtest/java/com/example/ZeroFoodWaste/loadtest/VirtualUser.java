@@ -0,0 +1,145 @@
+package com.example.ZeroFoodWaste.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One dashboard user sending the {@link Action} mix on a fixed schedule. It acts for one food
+ * bank and one establishment; its choices come from its own seeded {@link Random}, so a run
+ * with the same seed sends the same sequence of requests.
+ * <p>
+ * Latency is measured from the time the request was scheduled, not from when it was sent,
+ * so a slow response also counts against the requests it delayed.
+ */
+class VirtualUser implements Runnable {
+
+    private static final String[] ACCOUNTS =
+            {"estab1@example.com", "estab2@example.com", "foodbank1@example.com", "foodbank2@example.com"};
+
+    private final HttpClient client;
+    private final JsonMapper jsonMapper;
+    private final String baseUrl;
+    private final Long foodBankId;
+    private final Long establishmentId;
+    private final Random random;
+    private final long intervalNanos;
+    private final long startNanos;
+    private final long endNanos;
+    private final LoadTestResults results;
+
+    // AVAILABLE ids from the last listing, and what this user reserved and may cancel
+    private List<Long> available = new ArrayList<>();
+    private final List<Long> reserved = new ArrayList<>();
+
+    VirtualUser(HttpClient client, JsonMapper jsonMapper, String baseUrl, Long foodBankId, Long establishmentId,
+                long seed, long intervalNanos, long startNanos, long endNanos, LoadTestResults results) {
+        this.client = client;
+        this.jsonMapper = jsonMapper;
+        this.baseUrl = baseUrl;
+        this.foodBankId = foodBankId;
+        this.establishmentId = establishmentId;
+        this.random = new Random(seed);
+        this.intervalNanos = intervalNanos;
+        this.startNanos = startNanos;
+        this.endNanos = endNanos;
+        this.results = results;
+    }
+
+    @Override
+    public void run() {
+        for (long scheduled = startNanos; scheduled < endNanos; scheduled += intervalNanos) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            Action action = feasible(Action.pick(random));
+            int status;
+            try {
+                status = send(action);
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            results.record(action, status, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled));
+        }
+    }
+
+    /**
+     * A food bank with nothing reserved reserves instead of cancelling, and one that has not
+     * listed anything yet lists first.
+     */
+    private Action feasible(Action action) {
+        if (action == Action.CANCEL && reserved.isEmpty()) action = Action.RESERVE;
+        if (action == Action.RESERVE && available.isEmpty()) action = Action.LIST_AVAILABLE;
+        return action;
+    }
+
+    private int send(Action action) throws IOException, InterruptedException {
+        switch (action) {
+            case LIST_AVAILABLE -> {
+                HttpResponse<String> response = get("/donations?status=AVAILABLE&limit=20");
+                if (response.statusCode() == 200) {
+                    List<Long> ids = new ArrayList<>();
+                    for (JsonNode donation : jsonMapper.readTree(response.body())) ids.add(donation.get("id").asLong());
+                    available = ids;
+                }
+                return response.statusCode();
+            }
+            case RESERVE -> {
+                Long id = available.remove(random.nextInt(available.size()));
+                int status = post("/donations/" + id + "/accept/" + foodBankId, null).statusCode();
+                if (status == 200) reserved.add(id);
+                return status;
+            }
+            case CANCEL -> {
+                Long id = reserved.remove(random.nextInt(reserved.size()));
+                return post("/donations/" + id + "/cancel/" + foodBankId, null).statusCode();
+            }
+            case POST_DONATION -> {
+                String body = """
+                        {"establishmentId":%d,"productName":"Load test item %d","description":"End of day surplus",\
+                        "quantity":%d,"unit":"%s","expirationDate":"%s"}"""
+                        .formatted(establishmentId, random.nextInt(1_000_000), 1 + random.nextInt(20),
+                                random.nextBoolean() ? "kg" : "units",
+                                LocalDateTime.now().plusHours(12 + random.nextInt(72)).withNano(0));
+                return post("/donations", body).statusCode();
+            }
+            case LIST_OWN_DONATIONS -> {
+                return get("/donations/establishment/" + establishmentId).statusCode();
+            }
+            case LOGIN -> {
+                String body = """
+                        {"email":"%s","password":"pass123"}""".formatted(ACCOUNTS[random.nextInt(ACCOUNTS.length)]);
+                return post("/auth/login", body).statusCode();
+            }
+            default -> throw new IllegalStateException(action.name());
+        }
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path));
+        if (json == null) {
+            request.POST(HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(json));
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.ZeroFoodWaste.config;
+
+import com.example.ZeroFoodWaste.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a slow password encoder (BCrypt) on a small pool of its own so a burst of logins or
+ * sign-ups cannot take every request thread. At most {@code threads} hashes run at once and
+ * {@code queueCapacity} wait; anything beyond is refused at once with
+ * {@link PasswordHashingBusyException} (503) instead of queueing behind the rush.
+ * <p>
+ * Metrics: {@code security.password.hashing{operation}} times each hash on the pool,
+ * {@code security.password.hashing.queued} is the number waiting and
+ * {@code security.password.hashing.rejected} counts refusals.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry registry) {
+        this.delegate = delegate;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = timer(registry, "encode");
+        this.matchesTimer = timer(registry, "matches");
+        this.rejected = Counter.builder("security.password.hashing.rejected")
+                .description("Password hashes refused because the hashing pool was full")
+                .register(registry);
+        Gauge.builder("security.password.hashing.queued", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hashes the passwords of a bulk registration in parallel. At most {@code threads} of them
+     * are in the pool at a time, so logins arriving meanwhile still find room in the queue.
+     *
+     * @return the hashes, in the order of the passwords
+     * @throws PasswordHashingBusyException if logins fill the pool before any hash was started
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int window = executor.getMaximumPoolSize();
+        List<Future<String>> hashes = new ArrayList<>(rawPasswords.size());
+        List<String> results = new ArrayList<>(rawPasswords.size());
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                if (hashes.size() - results.size() >= window) results.add(await(hashes.get(results.size())));
+                Future<String> hash = null;
+                while (hash == null) {
+                    try {
+                        hash = executor.submit(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+                    } catch (RejectedExecutionException e) {
+                        // logins took the free slots, make room by waiting for one of ours
+                        if (results.size() == hashes.size()) {
+                            rejected.increment();
+                            throw new PasswordHashingBusyException();
+                        }
+                        results.add(await(hashes.get(results.size())));
+                    }
+                }
+                hashes.add(hash);
+            }
+            while (results.size() < hashes.size()) results.add(await(hashes.get(results.size())));
+            return results;
+        } finally {
+            hashes.subList(results.size(), hashes.size()).forEach(hash -> hash.cancel(true));
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Timer timer, Callable<T> hash) {
+        Future<T> result;
+        try {
+            result = executor.submit(() -> timer.recordCallable(hash));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException();
+        }
+        return await(result);
+    }
+
+    private <T> T await(Future<T> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation) {
+        return Timer.builder("security.password.hashing")
+                .description("Time spent hashing or checking one password")
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
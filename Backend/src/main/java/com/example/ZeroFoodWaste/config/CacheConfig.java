@@ -0,0 +1,17 @@
+package com.example.ZeroFoodWaste.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches are Caffeine caches configured through {@code spring.cache.*}; size, TTL and
+ * statistics are set in the caffeine spec and hit/miss/eviction counts are published
+ * as the {@code cache.*} metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String FOOD_BANKS = "foodBanks";
+    public static final String ESTABLISHMENTS = "establishments";
+    public static final String USERS = "users";
+}
@@ -0,0 +1,58 @@
+package com.example.ZeroFoodWaste.config;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests carrying {@code Authorization: Bearer <token>} from the token alone:
+ * the email is the principal and the authorities come from the token, so neither the
+ * signature check (see {@link JwtClaimsCache}) nor the user lookup is repeated on every
+ * request. An invalid token leaves the request anonymous, the authorization rules decide.
+ */
+@Slf4j
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final JwtClaimsCache claimsCache;
+    private final SecurityContextHolderStrategy contextHolder = SecurityContextHolder.getContextHolderStrategy();
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    public JwtAuthenticationFilter(JwtClaimsCache claimsCache) {
+        this.claimsCache = claimsCache;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            try {
+                JwtUtils.VerifiedToken token = claimsCache.verify(header.substring(BEARER.length()).trim());
+                UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                        token.email(), null, AuthorityUtils.createAuthorityList(token.authorities()));
+                authentication.setDetails(detailsSource.buildDetails(request));
+                SecurityContext context = contextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                contextHolder.setContext(context);
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Rejected bearer token: {}", e.getMessage());
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
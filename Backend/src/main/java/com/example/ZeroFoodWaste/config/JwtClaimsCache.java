@@ -0,0 +1,73 @@
+package com.example.ZeroFoodWaste.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Tokens already verified by {@link JwtUtils}, so a client sending the same bearer token on
+ * every request pays for the HMAC check once. Entries are keyed by the SHA-256 of the token,
+ * not the token itself, and each one is evicted when its token expires; the cache is bounded
+ * by {@code security.jwt.claims-cache.maximum-size} and published as the {@code cache.*}
+ * metrics with {@code cache=jwtClaims}. Rejected tokens are not cached.
+ */
+@Component
+public class JwtClaimsCache {
+
+    private final JwtUtils jwtUtils;
+    private final Cache<String, JwtUtils.VerifiedToken> cache;
+
+    public JwtClaimsCache(JwtUtils jwtUtils,
+                          MeterRegistry registry,
+                          @Value("${security.jwt.claims-cache.maximum-size:10000}") long maximumSize) {
+        this.jwtUtils = jwtUtils;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.creating((String digest, JwtUtils.VerifiedToken token) ->
+                        Duration.between(Instant.now(), token.expiresAt())))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "jwtClaims");
+    }
+
+    /**
+     * @return the verified token, from the cache when it was seen before
+     * @throws JwtException if the token is not valid
+     */
+    public JwtUtils.VerifiedToken verify(String token) throws JwtException {
+        String digest = digest(token);
+        JwtUtils.VerifiedToken cached = cache.getIfPresent(digest);
+        // expiry eviction runs during cache maintenance, an entry may outlive its token briefly
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) return cached;
+
+        JwtUtils.VerifiedToken verified = jwtUtils.verify(token);
+        cache.put(digest, verified);
+        return verified;
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
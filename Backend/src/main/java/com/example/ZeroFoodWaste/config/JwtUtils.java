@@ -1,17 +1,26 @@
 package com.example.ZeroFoodWaste.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtUtils {
+    public static final String AUTHORITIES_CLAIM = "authorities";
+
     private final SecretKey key;
     private final long expirationMs;
+    // immutable and thread-safe, built once instead of on every verification
+    private final JwtParser parser;
 
     public JwtUtils(
             @Value("${security.jwt.secret}") String secret,
@@ -20,13 +29,23 @@ public class JwtUtils {
 // La clave debe tener tamaño adecuado para HS256 (mín. 32 bytes)
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parser().verifyWith(key).build();
     }
 
     public String generateToken(String username) {
+        return generateToken(username, List.of());
+    }
+
+    /**
+     * @param authorities granted authorities (ROLE_...), carried in the token so authenticated
+     *                    requests do not have to load the user again
+     */
+    public String generateToken(String username, Collection<String> authorities) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + expirationMs);
         return Jwts.builder()
                 .subject(username)
+                .claim(AUTHORITIES_CLAIM, List.copyOf(authorities))
                 .issuedAt(now)
                 .expiration(expiry)
                 .signWith(key) // HS256 inferido por tipo de clave
@@ -34,11 +53,23 @@ public class JwtUtils {
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Checks the signature and expiration of a token.
+     *
+     * @return subject, authorities and expiration of the token
+     * @throws JwtException if the token is malformed, forged, expired or never expires
+     */
+    public VerifiedToken verify(String token) throws JwtException {
+        Claims claims = extractAllClaims(token);
+        if (claims.getExpiration() == null) throw new JwtException("Token has no expiration");
+        List<?> authorities = claims.get(AUTHORITIES_CLAIM, List.class);
+        return new VerifiedToken(
+                claims.getSubject(),
+                authorities == null ? List.of() : authorities.stream().map(String::valueOf).toList(),
+                claims.getExpiration().toInstant());
     }
 
     public String extractUsername(String token) {
@@ -53,4 +84,10 @@ public class JwtUtils {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * What a token proved once its signature was checked.
+     */
+    public record VerifiedToken(String email, List<String> authorities, Instant expiresAt) {
+    }
+}
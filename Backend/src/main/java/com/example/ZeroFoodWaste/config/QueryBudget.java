@@ -0,0 +1,25 @@
+package com.example.ZeroFoodWaste.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most SQL statements an endpoint may run through Hibernate in one request, counted by
+ * {@link StatementCountInspector}. Going over it is logged and counted by
+ * {@link QueryBudgetInterceptor}, and the controller tests fail on it.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    /**
+     * For endpoints whose statement count follows the size of a streamed input.
+     */
+    int UNBOUNDED = Integer.MAX_VALUE;
+
+    int value();
+}
@@ -0,0 +1,85 @@
+package com.example.ZeroFoodWaste.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements of every controller request with {@link StatementCountInspector}.
+ * The count is published as {@code http.server.requests.statements{method,uri}} and left on
+ * the request under {@link #TALLY_ATTRIBUTE}. Requests over their {@link QueryBudget}, or
+ * repeating the same select {@code sql.statements.repeat-threshold} times or more, are logged
+ * and counted as {@code http.server.requests.statements.over-budget} and
+ * {@code http.server.requests.statements.repeated}.
+ */
+@Slf4j
+@Component
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String TALLY_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".tally";
+
+    private final MeterRegistry registry;
+    private final int repeatThreshold;
+
+    public QueryBudgetInterceptor(MeterRegistry registry,
+                                  @Value("${sql.statements.repeat-threshold:5}") int repeatThreshold) {
+        this.registry = registry;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) StatementCountInspector.start();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // async requests (the SSE feed) go on on other threads, only the handler call is counted
+        StatementCountInspector.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        StatementTally tally = StatementCountInspector.stop();
+        if (tally == null || !(handler instanceof HandlerMethod method)) return;
+        request.setAttribute(TALLY_ATTRIBUTE, tally);
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder("http.server.requests.statements")
+                .description("SQL statements run by one request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(registry)
+                .record(tally.count());
+        log.debug("{} {} ran {} statements", request.getMethod(), uri, tally.count());
+
+        QueryBudget budget = method.getMethodAnnotation(QueryBudget.class);
+        if (budget != null && tally.count() > budget.value()) {
+            log.warn("{} {} ran {} statements, over its budget of {}",
+                    request.getMethod(), uri, tally.count(), budget.value());
+            counter("http.server.requests.statements.over-budget", request, uri).increment();
+        }
+        Map<String, Integer> repeated = tally.repeated(repeatThreshold);
+        if (!repeated.isEmpty()) {
+            log.warn("{} {} repeated statements, possible N+1: {}", request.getMethod(), uri, repeated);
+            counter("http.server.requests.statements.repeated", request, uri).increment();
+        }
+    }
+
+    private Counter counter(String name, HttpServletRequest request, String uri) {
+        return Counter.builder(name).tags("method", request.getMethod(), "uri", uri).register(registry);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.ZeroFoodWaste.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,7 +13,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.example.ZeroFoodWaste.controller.DonationController;
 import com.example.ZeroFoodWaste.service.UserService;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -23,9 +27,19 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /**
+     * BCrypt at {@code security.password.bcrypt-strength} on its own bounded pool, see
+     * {@link BoundedPasswordEncoder}. Hashes of a lower strength are upgraded at the next
+     * successful login through {@link UserService#updatePassword}.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            MeterRegistry registry,
+            @Value("${security.password.bcrypt-strength:10}") int strength,
+            @Value("${security.password.hashing.threads:2}") int threads,
+            @Value("${security.password.hashing.queue-capacity:32}") int queueCapacity
+    ) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity, registry);
     }
 
     @Bean
@@ -41,6 +55,7 @@ public class SecurityConfig {
         config.setAllowedOrigins(List.of("http://localhost:5173")); // <-- your frontend URL
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        config.setExposedHeaders(List.of(DonationController.NEXT_CURSOR_HEADER, "ETag"));
         config.setAllowCredentials(true); // allow cookies or Authorization headers
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -50,9 +65,10 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtClaimsCache jwtClaimsCache) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+            .addFilterBefore(new JwtAuthenticationFilter(jwtClaimsCache), UsernamePasswordAuthenticationFilter.class)
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
                     .requestMatchers("/auth/login").permitAll()
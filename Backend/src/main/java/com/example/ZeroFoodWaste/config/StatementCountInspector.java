@@ -0,0 +1,36 @@
+package com.example.ZeroFoodWaste.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the statements Hibernate prepares on the current thread while a {@link StatementTally}
+ * is open, registered through {@code hibernate.session_factory.statement_inspector}. Statements
+ * sent through {@code JdbcTemplate} do not go through Hibernate and are not counted.
+ */
+public class StatementCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<StatementTally> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        StatementTally tally = CURRENT.get();
+        if (tally != null) tally.record(sql);
+        return sql;
+    }
+
+    /**
+     * Starts counting on the current thread, dropping any tally left open.
+     */
+    public static void start() {
+        CURRENT.set(new StatementTally());
+    }
+
+    /**
+     * @return what was counted since {@link #start()}, null if nothing was being counted
+     */
+    public static StatementTally stop() {
+        StatementTally tally = CURRENT.get();
+        CURRENT.remove();
+        return tally;
+    }
+}
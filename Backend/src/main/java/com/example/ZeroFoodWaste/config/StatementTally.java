@@ -0,0 +1,42 @@
+package com.example.ZeroFoodWaste.config;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * SQL statements run while handling one request, by statement text. Parameters are bound
+ * as placeholders, so the same query run for every row of a list shows up as one text with
+ * a high count.
+ */
+public class StatementTally {
+
+    private final Map<String, Integer> statements = new HashMap<>();
+    private int count;
+
+    void record(String sql) {
+        count++;
+        statements.merge(sql, 1, Integer::sum);
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Selects run at least {@code threshold} times, the shape of an N+1. Sequence fetches are
+     * left out, bulk inserts legitimately fetch one block of ids per batch.
+     *
+     * @return statement text to number of executions
+     */
+    public Map<String, Integer> repeated(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statements.forEach((sql, times) -> {
+            String normalized = sql.stripLeading().toLowerCase(Locale.ROOT);
+            boolean sequence = normalized.contains("nextval(") || normalized.contains("next value for");
+            if (times >= threshold && normalized.startsWith("select") && !sequence) repeated.put(sql, times);
+        });
+        return repeated;
+    }
+}
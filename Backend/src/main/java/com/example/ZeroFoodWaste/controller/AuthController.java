@@ -2,13 +2,16 @@ package com.example.ZeroFoodWaste.controller;
 
 import com.example.ZeroFoodWaste.config.JwtUtils;
 import com.example.ZeroFoodWaste.exception.UserNotFoundException;
+import com.example.ZeroFoodWaste.service.UserService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -16,11 +19,14 @@ import java.util.Map;
 public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtil;
+    private final UserService userService;
 
     public AuthController(AuthenticationManager authenticationManager,
-                          JwtUtils jwtUtil) {
+                          JwtUtils jwtUtil,
+                          UserService userService) {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
+        this.userService = userService;
     }
 
     @PostMapping("/login")
@@ -32,7 +38,13 @@ public class AuthController {
                             request.password()
                     )
             );
-            String token = jwtUtil.generateToken(request.email());
+            // roles only, the FACTOR_* authorities describe this password login, not the token
+            List<String> roles = AuthorityUtils.authorityListToSet(authentication.getAuthorities()).stream()
+                    .filter(authority -> authority.startsWith("ROLE_"))
+                    .toList();
+            String token = jwtUtil.generateToken(request.email(), roles);
+            // the pages opened next all ask for the profile, load it into the cache now
+            userService.getByEmail(request.email());
             return ResponseEntity.ok(new LoginResponse(token));
         } catch (AuthenticationException e) {
             // Return a 401 Unauthorized response with an error message
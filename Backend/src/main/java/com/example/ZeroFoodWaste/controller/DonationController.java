@@ -1,10 +1,30 @@
 package com.example.ZeroFoodWaste.controller;
 
+import com.example.ZeroFoodWaste.config.QueryBudget;
+import com.example.ZeroFoodWaste.model.dto.DonationBulkResultDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationChangesDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationExportFilterDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationImportResultDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationPageDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationReservationResultDTO;
 import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.NearbyDonationDTO;
 import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import com.example.ZeroFoodWaste.service.DonationChangeCounter;
+import com.example.ZeroFoodWaste.service.DonationChangeFeed;
+import com.example.ZeroFoodWaste.service.DonationEventBroadcaster;
+import com.example.ZeroFoodWaste.service.DonationExportService;
+import com.example.ZeroFoodWaste.service.DonationImportService;
 import com.example.ZeroFoodWaste.service.DonationService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,32 +32,128 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/")
 public class DonationController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final DonationService donationService;
+    private final DonationChangeCounter donationChangeCounter;
+    private final DonationEventBroadcaster donationEventBroadcaster;
+    private final DonationChangeFeed donationChangeFeed;
+    private final DonationImportService donationImportService;
+    private final DonationExportService donationExportService;
 
+    /**
+     * Lists donations by status one page at a time. The body keeps the plain list shape;
+     * the cursor of the next page, if any, travels in the {@value #NEXT_CURSOR_HEADER} header.
+     * Without limit and cursor the whole list is returned, as it was before paging existed.
+     * Answers 304 when If-None-Match still matches the current donation version.
+     */
+    @QueryBudget(2)
     @GetMapping("/donations")
-    public ResponseEntity<List<DonationResponseDTO>> getDonationsByStatus(@RequestParam String status) {
-        List<DonationResponseDTO> responseDTOS = donationService.getDonationsByStatus(status);
-        return ResponseEntity.ok(responseDTOS);
+    public ResponseEntity<List<DonationResponseDTO>> getDonationsByStatus(
+            @RequestParam String status,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long establishmentId,
+            @RequestParam(required = false) String unit,
+            WebRequest request) {
+        String etag = donationChangeCounter.etag();
+        if (request.checkNotModified(etag)) return null;
+
+        if (limit == null && (cursor == null || cursor.isBlank())) {
+            return versioned(etag).body(donationService.getAllDonations(status, sort, establishmentId, unit));
+        }
+        DonationPageDTO page = donationService.getDonationPage(status, sort, cursor, limit, establishmentId, unit);
+        ResponseEntity.BodyBuilder response = versioned(etag);
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 
+    @QueryBudget(2)
     @GetMapping("/donations/establishment/{id}")
-    public ResponseEntity<List<DonationResponseDTO>> getDonationsByEstablishment(@PathVariable Long id) {
+    public ResponseEntity<List<DonationResponseDTO>> getDonationsByEstablishment(@PathVariable Long id,
+                                                                                 WebRequest request) {
+        String etag = donationChangeCounter.etag();
+        if (request.checkNotModified(etag)) return null;
+
         List<DonationResponseDTO> responseDTOS = donationService.getDonationsByEstablishment(id);
-        return ResponseEntity.ok(responseDTOS);
+        return versioned(etag).body(responseDTOS);
+    }
+
+    /**
+     * Live feed of committed donation changes as Server-Sent Events, named after the change
+     * (created, reserved, cancelled, picked-up, updated, deleted) with the donation as data.
+     * A {@value DonationEventBroadcaster#RESYNC_EVENT} event means events were dropped and the
+     * client should reload its list.
+     */
+    @QueryBudget(1)
+    @GetMapping(value = "/donations/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDonations(@RequestParam(required = false) DonationStatus status,
+                                      @RequestParam(required = false) Long establishmentId) {
+        return donationEventBroadcaster.subscribe(status, establishmentId);
+    }
+
+    /**
+     * Delta sync: donations changed or deleted since the cursor returned by the previous call.
+     * Without a cursor it returns every donation, page by page. 410 means the cursor is too old
+     * and the client has to reload from scratch.
+     */
+    @QueryBudget(2)
+    @GetMapping("/donations/changes")
+    public ResponseEntity<DonationChangesDTO> getDonationChanges(@RequestParam(required = false) String since,
+                                                                 @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(donationChangeFeed.getChanges(since, limit));
     }
 
+    /**
+     * Full donation history joined with assignments, for reporting. Written to the response
+     * while it is read from the database, as NDJSON or, with format=csv, as CSV; from/to bound
+     * the creation date and status may be repeated.
+     */
+    @QueryBudget(1)
+    @GetMapping("/donations/export")
+    public void exportDonations(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Set<DonationStatus> status,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        DonationExportFilterDTO filter = new DonationExportFilterDTO(from, to, status);
+        boolean csv = "csv".equalsIgnoreCase(format);
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"donations." + (csv ? "csv" : "ndjson") + "\"");
+        if (csv) {
+            donationExportService.exportCsv(filter, response.getOutputStream());
+        } else {
+            donationExportService.exportNdjson(filter, response.getOutputStream());
+        }
+    }
+
+    @QueryBudget(2)
     @GetMapping("/foodbank/{id}/donations")
     public ResponseEntity<List<DonationResponseDTO>> getDonationsByFoodBank(@PathVariable Long id) {
         // CORREGIDO: Antes llamaba a getDonationsByEstablishment
@@ -47,12 +163,14 @@ public class DonationController {
     }
 
 
+    @QueryBudget(1)
     @GetMapping("/donations/{id}")
     public ResponseEntity<DonationResponseDTO> getDonation(@PathVariable Long id) {
         DonationResponseDTO dto = donationService.getDonation(id);
         return ResponseEntity.ok(dto);
     }
 
+    @QueryBudget(3)
     @PostMapping("/donations")
     public ResponseEntity<DonationResponseDTO> createDonation(@RequestBody NewDonationDTO donation) {
         DonationResponseDTO dto = donationService.createDonation(donation);
@@ -60,12 +178,54 @@ public class DonationController {
         return ResponseEntity.created(location).body(dto);
     }
 
+    /**
+     * Creates up to {@value DonationService#MAX_BULK_SIZE} donations in one request. Answers 400
+     * with the list of invalid rows, and saves nothing, if any row is invalid.
+     */
+    @QueryBudget(1 + 2 * DonationService.MAX_BULK_SIZE / DonationService.BULK_CHUNK_SIZE)
+    @PostMapping("/donations/bulk")
+    public ResponseEntity<DonationBulkResultDTO> createDonations(@RequestBody List<NewDonationDTO> donations) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(donationService.createDonations(donations));
+    }
+
+    /**
+     * Imports a CSV or NDJSON file of any size, see {@link DonationImportService}. Valid rows are
+     * saved even when others are rejected; the rejected ones are listed in the answer.
+     */
+    @QueryBudget(QueryBudget.UNBOUNDED)
+    @PostMapping(value = "/donations/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<DonationImportResultDTO> importDonations(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestParam(required = false) Long establishmentId,
+            InputStream body
+    ) throws IOException {
+        try (body) {
+            DonationImportResultDTO result = contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                    ? donationImportService.importCsv(body, establishmentId)
+                    : donationImportService.importNdjson(body, establishmentId);
+            return ResponseEntity.ok(result);
+        }
+    }
+
+    @QueryBudget(4)
     @PostMapping("/donations/{id}/accept/{foodBankId}")
     public ResponseEntity<DonationResponseDTO> acceptDonation(@PathVariable Long id, @PathVariable Long foodBankId) {
         DonationResponseDTO dto = donationService.acceptDonation(id,foodBankId);
         return ResponseEntity.ok(dto);
     }
 
+    /**
+     * Reserves a list of donations for a food bank at once. Always answers 200 with one
+     * result per donation: RESERVED, CONFLICT (not AVAILABLE any more) or NOT_FOUND.
+     */
+    @QueryBudget(5)
+    @PostMapping("/donations/accept/{foodBankId}")
+    public ResponseEntity<List<DonationReservationResultDTO>> acceptDonations(@PathVariable Long foodBankId,
+                                                                              @RequestBody List<Long> donationIds) {
+        return ResponseEntity.ok(donationService.acceptDonations(donationIds, foodBankId));
+    }
+
+    @QueryBudget(4)
     @PostMapping("/donations/{id}/pickup")
     public ResponseEntity<DonationResponseDTO> pickUpDonation(@PathVariable Long id) {
         //todo
@@ -73,12 +233,37 @@ public class DonationController {
         return ResponseEntity.ok(dto);
     }
 
+    /**
+     * AVAILABLE donations around a point, nearest first and, at the same distance, expiring
+     * first. radiusKm defaults to {@value DonationService#DEFAULT_NEARBY_RADIUS_KM} and is capped at
+     * {@value DonationService#MAX_NEARBY_RADIUS_KM}. Answers 304 when If-None-Match still matches
+     * the current donation version.
+     */
+    @QueryBudget(1)
+    @GetMapping("/donations/nearby")
+    public ResponseEntity<List<NearbyDonationDTO>> getNearbyDonations(@RequestParam double lat,
+                                                                      @RequestParam double lon,
+                                                                      @RequestParam(required = false) Double radiusKm,
+                                                                      @RequestParam(required = false) Integer limit,
+                                                                      WebRequest request) {
+        String etag = donationChangeCounter.etag();
+        if (request.checkNotModified(etag)) return null;
+
+        return versioned(etag).body(donationService.getNearbyDonations(lat, lon, radiusKm, limit));
+    }
+
+    @QueryBudget(2)
     @GetMapping("/donations/reserved")
-    public ResponseEntity<List<DonationResponseDTO>> getReservedDonations(@RequestParam Long foodBankId) {
+    public ResponseEntity<List<DonationResponseDTO>> getReservedDonations(@RequestParam Long foodBankId,
+                                                                          WebRequest request) {
+        String etag = donationChangeCounter.etag();
+        if (request.checkNotModified(etag)) return null;
+
         List<DonationResponseDTO> responseDTOS = donationService.getReservedDonationsByBank(foodBankId);
-        return ResponseEntity.ok(responseDTOS);
+        return versioned(etag).body(responseDTOS);
     }
 
+    @QueryBudget(4)
     @PostMapping("/donations/{id}/cancel/{foodBankId}")
     public ResponseEntity<DonationResponseDTO> cancelReservation(
             @PathVariable Long id,
@@ -87,6 +272,7 @@ public class DonationController {
         return ResponseEntity.ok(dto);
     }
 
+    @QueryBudget(3)
     @PutMapping("/donations/{id}")
     public ResponseEntity<DonationResponseDTO> modifyDonation(@RequestBody DonationResponseDTO donation) {
         //todo
@@ -94,10 +280,19 @@ public class DonationController {
         return ResponseEntity.ok(dto);
     }
 
+    @QueryBudget(4)
     @DeleteMapping("/donations/{id}")
     public ResponseEntity<DonationResponseDTO> deleteDonation(@PathVariable Long id) {
         //todo
         DonationResponseDTO dto = donationService.deleteDonation(id);
         return ResponseEntity.ok(dto);
     }
+
+    /**
+     * no-cache lets browsers keep the body but makes them revalidate it with If-None-Match
+     * on every request.
+     */
+    private ResponseEntity.BodyBuilder versioned(String etag) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache());
+    }
 }
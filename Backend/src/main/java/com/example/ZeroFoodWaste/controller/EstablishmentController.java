@@ -1,5 +1,6 @@
 package com.example.ZeroFoodWaste.controller;
 
+import com.example.ZeroFoodWaste.config.QueryBudget;
 import com.example.ZeroFoodWaste.model.dto.EstablishmentResponseDTO;
 import com.example.ZeroFoodWaste.service.EstablishmentService;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +16,7 @@ public class EstablishmentController {
     private final EstablishmentService establishmentService;
 
     //region get
+    @QueryBudget(1)
     @GetMapping("{Id}")
     public ResponseEntity<EstablishmentResponseDTO> getEstablishment(@PathVariable Long Id) {
         return ResponseEntity.ok(establishmentService.getEstablishment(Id));
@@ -22,6 +24,7 @@ public class EstablishmentController {
     //endregion
 
     //region put/patch
+    @QueryBudget(2)
     @PatchMapping("{id}")
     public ResponseEntity<EstablishmentResponseDTO> modifyEstablishment(@PathVariable Long id, @RequestBody EstablishmentResponseDTO dto) {
         return ResponseEntity.ok(establishmentService.modifyEstablishment(id,dto));
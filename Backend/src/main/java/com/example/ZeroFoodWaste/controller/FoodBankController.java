@@ -1,5 +1,6 @@
 package com.example.ZeroFoodWaste.controller;
 
+import com.example.ZeroFoodWaste.config.QueryBudget;
 import com.example.ZeroFoodWaste.model.dto.FoodBankResponseDTO;
 import com.example.ZeroFoodWaste.service.FoodBankService;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +14,7 @@ public class FoodBankController {
     private final FoodBankService foodBankService;
 
     //region get
+    @QueryBudget(1)
     @GetMapping("/{id}")
     public ResponseEntity<FoodBankResponseDTO> getFoodBank(@PathVariable Long id) {
         return ResponseEntity.ok(foodBankService.getFoodBank(id));
@@ -20,6 +22,7 @@ public class FoodBankController {
     //endregion
 
     //region put/patch
+    @QueryBudget(2)
     @PatchMapping("/{id}")
     public ResponseEntity<FoodBankResponseDTO> modifyFoodBank(@PathVariable Long id, @RequestBody FoodBankResponseDTO foodBankResponseDTO) {
         return ResponseEntity.ok(foodBankService.modifyFoodBank(id, foodBankResponseDTO));
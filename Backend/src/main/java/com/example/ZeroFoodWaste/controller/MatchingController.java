@@ -0,0 +1,38 @@
+package com.example.ZeroFoodWaste.controller;
+
+import com.example.ZeroFoodWaste.config.QueryBudget;
+import com.example.ZeroFoodWaste.model.dto.MatchingPlanDTO;
+import com.example.ZeroFoodWaste.service.DonationMatchingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/matching")
+@RequiredArgsConstructor
+public class MatchingController {
+    private final DonationMatchingService donationMatchingService;
+
+    /**
+     * Last batch of proposed assignments, optionally only those of one food bank. Proposals
+     * are reserved through the usual donation endpoints.
+     */
+    @QueryBudget(3)
+    @GetMapping("/proposals")
+    public ResponseEntity<MatchingPlanDTO> getProposals(@RequestParam(required = false) Long foodBankId) {
+        return ResponseEntity.ok(donationMatchingService.getLatestPlan(foodBankId));
+    }
+
+    /**
+     * Computes a new batch now instead of waiting for the next scheduled run.
+     */
+    @QueryBudget(3)
+    @PostMapping("/run")
+    public ResponseEntity<MatchingPlanDTO> run() {
+        return ResponseEntity.ok(donationMatchingService.run());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.ZeroFoodWaste.controller;
+
+import com.example.ZeroFoodWaste.config.QueryBudget;
+import com.example.ZeroFoodWaste.exception.InvalidTokenException;
+import com.example.ZeroFoodWaste.model.dto.SessionBootstrapDTO;
+import com.example.ZeroFoodWaste.service.SessionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/me")
+@RequiredArgsConstructor
+public class SessionController {
+    private final SessionService sessionService;
+
+    /**
+     * Replaces the user, profile and donation list calls a client makes after login with one
+     * round trip. Needs the bearer token returned by /auth/login.
+     */
+    @QueryBudget(3)
+    @GetMapping("/bootstrap")
+    public ResponseEntity<SessionBootstrapDTO> bootstrap(Authentication authentication) {
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            throw new InvalidTokenException("Missing bearer token");
+        }
+        return ResponseEntity.ok(sessionService.bootstrap(authentication.getName()));
+    }
+}
@@ -1,16 +1,22 @@
 package com.example.ZeroFoodWaste.controller;
 
-import com.example.ZeroFoodWaste.config.JwtUtils;
+import com.example.ZeroFoodWaste.config.JwtClaimsCache;
 import com.example.ZeroFoodWaste.exception.EmailAlreadyExistsException;
+import com.example.ZeroFoodWaste.exception.InvalidTokenException;
 import com.example.ZeroFoodWaste.model.dto.NewUserDTO;
+import com.example.ZeroFoodWaste.model.dto.UserRegistrationResultDTO;
 import com.example.ZeroFoodWaste.model.dto.UserResponseDTO;
 import com.example.ZeroFoodWaste.service.UserService;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -18,16 +24,44 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
-    private final JwtUtils jwtUtil;
+    private final JwtClaimsCache jwtClaimsCache;
 
     @PostMapping
     public ResponseEntity<UserResponseDTO> createUser(@RequestBody NewUserDTO newUserDTO){
         return ResponseEntity.ok(userService.createUser(newUserDTO));
     }
 
+    /**
+     * Registers up to {@value UserService#MAX_BULK_USERS} users in one request, for chains
+     * onboarding all their stores. Always answers 200 with one result per row: CREATED,
+     * EMAIL_TAKEN, DUPLICATE (repeated in the request) or INVALID.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<UserRegistrationResultDTO>> createUsers(@RequestBody List<NewUserDTO> newUsers){
+        return ResponseEntity.ok(userService.createUsers(newUsers));
+    }
+
+    /**
+     * The signed-in user, identified by the bearer token or, for older clients, by the token
+     * query parameter.
+     */
     @GetMapping
-    public ResponseEntity<UserResponseDTO> getUserByToken(@RequestParam String token){
-        String email = jwtUtil.extractUsername(token);
-        return ResponseEntity.ok(userService.getByEmail(email));
+    public ResponseEntity<UserResponseDTO> getUserByToken(@RequestParam(required = false) String token,
+                                                          Authentication authentication){
+        return ResponseEntity.ok(userService.getByEmail(email(token, authentication)));
+    }
+
+    private String email(String token, Authentication authentication) {
+        if (token != null) {
+            try {
+                return jwtClaimsCache.verify(token).email();
+            } catch (JwtException | IllegalArgumentException e) {
+                throw new InvalidTokenException("Invalid or expired token");
+            }
+        }
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            throw new InvalidTokenException("Missing bearer token");
+        }
+        return authentication.getName();
     }
 }
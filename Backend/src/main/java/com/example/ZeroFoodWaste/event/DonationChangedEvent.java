@@ -0,0 +1,18 @@
+package com.example.ZeroFoodWaste.event;
+
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.enums.DonationChangeType;
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+
+/**
+ * Published by {@link com.example.ZeroFoodWaste.service.DonationService} for every mutation.
+ * Listeners that mirror donation state should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ *
+ * @param type           what happened to the donation
+ * @param previousStatus status before the change, null for new donations
+ * @param donation       state of the donation after the change, or the last state before it was deleted
+ */
+public record DonationChangedEvent(DonationChangeType type, DonationStatus previousStatus,
+                                   DonationResponseDTO donation) {
+}
@@ -0,0 +1,13 @@
+package com.example.ZeroFoodWaste.event;
+
+import com.example.ZeroFoodWaste.model.dto.EstablishmentResponseDTO;
+
+/**
+ * Published by {@link com.example.ZeroFoodWaste.service.EstablishmentService} when an establishment
+ * is modified. Its name and coordinates are copied into every donation it created, so listeners
+ * that mirror donation state must refresh them once the change has committed.
+ *
+ * @param establishment state of the establishment after the change
+ */
+public record EstablishmentChangedEvent(EstablishmentResponseDTO establishment) {
+}
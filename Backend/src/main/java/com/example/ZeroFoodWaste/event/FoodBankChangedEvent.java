@@ -0,0 +1,12 @@
+package com.example.ZeroFoodWaste.event;
+
+import com.example.ZeroFoodWaste.model.dto.FoodBankResponseDTO;
+
+/**
+ * Published by {@link com.example.ZeroFoodWaste.service.FoodBankService} when a food bank is
+ * modified. Its name is copied into every donation assigned to it.
+ *
+ * @param foodBank state of the food bank after the change
+ */
+public record FoodBankChangedEvent(FoodBankResponseDTO foodBank) {
+}
@@ -0,0 +1,11 @@
+package com.example.ZeroFoodWaste.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(int size, int max) {
+        super("Batch of " + size + " items exceeds the maximum of " + max);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.ZeroFoodWaste.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.GONE)
+public class ChangeCursorExpiredException extends RuntimeException {
+    public ChangeCursorExpiredException(String cursor) {
+        super("Change cursor is older than the deletion history, reload the full list: " + cursor);
+    }
+}
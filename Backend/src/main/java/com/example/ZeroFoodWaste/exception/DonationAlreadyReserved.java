@@ -1,5 +1,9 @@
 package com.example.ZeroFoodWaste.exception;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
 public class DonationAlreadyReserved extends RuntimeException {
     public DonationAlreadyReserved(String message) {
         super(message);
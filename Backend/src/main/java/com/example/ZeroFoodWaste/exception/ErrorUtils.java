@@ -1,10 +1,14 @@
 package com.example.ZeroFoodWaste.exception;
 
+import com.example.ZeroFoodWaste.model.dto.RowErrorDTO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.util.List;
+
 @ControllerAdvice
 public class ErrorUtils {
 
@@ -34,4 +38,26 @@ public class ErrorUtils {
     public ResponseEntity<String> handleAssignmentNotFoundException(UserNotFoundException e) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
     }
+
+    @ExceptionHandler(DonationAlreadyReserved.class)
+    public ResponseEntity<String> handleDonationAlreadyReserved(DonationAlreadyReserved e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidTokenException.class)
+    public ResponseEntity<String> handleInvalidTokenException(InvalidTokenException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<String> handlePasswordHashingBusyException(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidRowsException.class)
+    public ResponseEntity<List<RowErrorDTO>> handleInvalidRowsException(InvalidRowsException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getErrors());
+    }
 }
@@ -0,0 +1,19 @@
+package com.example.ZeroFoodWaste.exception;
+
+import com.example.ZeroFoodWaste.model.dto.RowErrorDTO;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+
+@Getter
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidRowsException extends RuntimeException {
+    private final List<RowErrorDTO> errors;
+
+    public InvalidRowsException(List<RowErrorDTO> errors) {
+        super(errors.size() + " invalid rows, nothing was saved");
+        this.errors = errors;
+    }
+}
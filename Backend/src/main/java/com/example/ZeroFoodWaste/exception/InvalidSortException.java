@@ -0,0 +1,11 @@
+package com.example.ZeroFoodWaste.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidSortException extends RuntimeException {
+    public InvalidSortException(String sort) {
+        super("Invalid sort: " + sort);
+    }
+}
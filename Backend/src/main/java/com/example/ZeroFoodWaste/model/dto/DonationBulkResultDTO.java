@@ -0,0 +1,17 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DonationBulkResultDTO {
+    private int created;
+
+    //ids of the new donations, in request order
+    private List<Long> ids;
+}
@@ -0,0 +1,31 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A donation as returned by the delta-sync endpoint, with the time of its last change.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class DonationChangeDTO extends DonationResponseDTO {
+    private LocalDateTime updatedAt;
+
+    /**
+     * Used by {@link com.example.ZeroFoodWaste.repository.DonationRepository#findChangesAfter}.
+     */
+    public DonationChangeDTO(Long id, Long establishmentId, Long assignmentId, String productName,
+                             String description, Integer quantity, String unit, LocalDateTime expirationDate,
+                             DonationStatus status, String establishment, String foodBank,
+                             LocalDateTime createdAt, Double latitude, Double longitude,
+                             LocalDateTime updatedAt) {
+        super(id, establishmentId, assignmentId, productName, description, quantity, unit, expirationDate,
+                status, establishment, foodBank, createdAt, latitude, longitude);
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DonationChangesDTO {
+    //donations created or modified since the cursor, in their current state
+    private List<DonationChangeDTO> changed;
+
+    //ids of the donations deleted since the cursor
+    private List<Long> deleted;
+
+    //to send as since on the next call, never null
+    private String nextCursor;
+
+    //true when the page was full and the client should call again right away
+    private boolean hasMore;
+}
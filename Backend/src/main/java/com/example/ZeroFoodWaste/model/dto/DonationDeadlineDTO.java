@@ -0,0 +1,15 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DonationDeadlineDTO {
+    private Long id;
+    private LocalDateTime expirationDate;
+}
@@ -0,0 +1,21 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DonationExportFilterDTO {
+    //creation date range, from inclusive and to exclusive, either may be null
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    //null or empty exports every status
+    private Set<DonationStatus> statuses;
+}
@@ -0,0 +1,55 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class DonationExportRowDTO {
+    private Long id;
+    private Long establishmentId;
+    private String establishment;
+    private String productName;
+    private String description;
+    private Integer quantity;
+    private String unit;
+    private LocalDateTime expirationDate;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    //assignment columns, null while the donation has not been reserved
+    private Long foodBankId;
+    private String foodBank;
+    private LocalDateTime acceptedAt;
+    private LocalDateTime pickedUpAt;
+
+    /**
+     * Used by {@link com.example.ZeroFoodWaste.repository.DonationExportRepositoryImpl}
+     * to build the row straight from the cursor.
+     */
+    public DonationExportRowDTO(Long id, Long establishmentId, String establishment, String productName,
+                                String description, Integer quantity, String unit,
+                                LocalDateTime expirationDate, DonationStatus status, LocalDateTime createdAt,
+                                LocalDateTime updatedAt, Long foodBankId, String foodBank,
+                                LocalDateTime acceptedAt, LocalDateTime pickedUpAt) {
+        this.id = id;
+        this.establishmentId = establishmentId;
+        this.establishment = establishment;
+        this.productName = productName;
+        this.description = description;
+        this.quantity = quantity;
+        this.unit = unit;
+        this.expirationDate = expirationDate;
+        this.status = status == null ? null : status.name();
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.foodBankId = foodBankId;
+        this.foodBank = foodBank;
+        this.acceptedAt = acceptedAt;
+        this.pickedUpAt = pickedUpAt;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DonationImportResultDTO {
+    //data rows read from the file, the header excluded
+    private long rows;
+    private long imported;
+    private long rejected;
+
+    //one entry per rejected row, row being the line number in the file
+    private List<RowErrorDTO> errors;
+
+    //true when there were more rejected rows than errors listed
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,17 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DonationPageDTO {
+    private List<DonationResponseDTO> items;
+
+    //null when there are no more pages
+    private String nextCursor;
+}
@@ -0,0 +1,20 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import com.example.ZeroFoodWaste.model.enums.ReservationResult;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DonationReservationResultDTO {
+    private Long donationId;
+    private ReservationResult result;
+
+    //current status of the donation, null when it does not exist
+    private String status;
+
+    //the reserved donation, only set when result is RESERVED
+    private DonationResponseDTO donation;
+}
@@ -1,10 +1,13 @@
 package com.example.ZeroFoodWaste.model.dto;
 
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class DonationResponseDTO {
     private Long id;
     private Long establishmentId;
@@ -17,4 +20,52 @@ public class DonationResponseDTO {
     private String status;
     private String establishment;
     private String foodBank;
+    private LocalDateTime createdAt;
+    private Double latitude; //location of the establishment, null until geocoded
+    private Double longitude;
+
+    /**
+     * Used by the projection queries in
+     * {@link com.example.ZeroFoodWaste.repository.DonationRepository}
+     * to build the DTO straight from a joined row.
+     */
+    public DonationResponseDTO(Long id, Long establishmentId, Long assignmentId, String productName,
+                               String description, Integer quantity, String unit, LocalDateTime expirationDate,
+                               DonationStatus status, String establishment, String foodBank,
+                               LocalDateTime createdAt, Double latitude, Double longitude) {
+        this.id = id;
+        this.establishmentId = establishmentId;
+        this.assignmentId = assignmentId;
+        this.productName = productName;
+        this.description = description;
+        this.quantity = quantity;
+        this.unit = unit;
+        this.expirationDate = expirationDate;
+        this.status = status == null ? null : status.name();
+        this.establishment = establishment;
+        this.foodBank = foodBank;
+        this.createdAt = createdAt;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * Copies every field of another DTO.
+     */
+    public DonationResponseDTO(DonationResponseDTO other) {
+        this.id = other.id;
+        this.establishmentId = other.establishmentId;
+        this.assignmentId = other.assignmentId;
+        this.productName = other.productName;
+        this.description = other.description;
+        this.quantity = other.quantity;
+        this.unit = other.unit;
+        this.expirationDate = other.expirationDate;
+        this.status = other.status;
+        this.establishment = other.establishment;
+        this.foodBank = other.foodBank;
+        this.createdAt = other.createdAt;
+        this.latitude = other.latitude;
+        this.longitude = other.longitude;
+    }
 }
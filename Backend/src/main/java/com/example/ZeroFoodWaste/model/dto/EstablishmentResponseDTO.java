@@ -10,5 +10,7 @@ public class EstablishmentResponseDTO {
     private String address;
     private String contactPhone;
     private String openingHours;
+    private Double latitude; //read-only, geocoded from the address
+    private Double longitude;
     private String email;
 }
@@ -0,0 +1,14 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FoodBankLocationDTO {
+    private Long id;
+    private Double latitude;
+    private Double longitude;
+}
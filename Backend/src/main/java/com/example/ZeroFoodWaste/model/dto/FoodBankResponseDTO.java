@@ -11,5 +11,7 @@ public class FoodBankResponseDTO {
     private String contactPhone;
     private String openingHours;
     private String description;
+    private Double latitude; //read-only, geocoded from the address
+    private Double longitude;
     private String email;
 }
@@ -0,0 +1,19 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Donations of one unit a food bank has accepted, see
+ * {@link com.example.ZeroFoodWaste.repository.DonationAssignmentRepository#findUnitHistorySince}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FoodBankUnitHistoryDTO {
+    private Long foodBankId;
+    private String unit;
+    private Long donations;
+    private Double averageQuantity;
+}
@@ -0,0 +1,27 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MatchingPlanDTO {
+    private LocalDateTime computedAt;
+    private long solveMillis;
+
+    //located AVAILABLE donations and food banks taken into account
+    private int donations;
+    private int foodBanks;
+    private int matched;
+
+    //false when the time budget ran out before every donation was considered
+    private boolean complete;
+
+    //proposals only, food banks still reserve the donations themselves
+    private List<ProposedAssignmentDTO> assignments;
+}
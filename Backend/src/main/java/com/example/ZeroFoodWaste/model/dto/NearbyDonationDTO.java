@@ -0,0 +1,14 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NearbyDonationDTO {
+    //great-circle distance from the searched point to the establishment
+    private double distanceKm;
+    private DonationResponseDTO donation;
+}
@@ -0,0 +1,17 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProposedAssignmentDTO {
+    private Long donationId;
+    private Long foodBankId;
+    private double distanceKm;
+
+    //weighted sum of distance, expiry urgency, unit/quantity fit and fairness, higher is better
+    private double score;
+}
@@ -0,0 +1,14 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RowErrorDTO {
+    //position of the row in the request, starting at 1
+    private long row;
+    private String message;
+}
@@ -0,0 +1,27 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SessionBootstrapDTO {
+    private UserResponseDTO user;
+
+    //only one of the two profiles is set, depending on the role
+    private EstablishmentResponseDTO establishment;
+    private FoodBankResponseDTO foodBank;
+
+    //establishments: their oldest donations first, like GET /donations/establishment/{id}; food banks: AVAILABLE donations expiring first
+    private List<DonationResponseDTO> donations;
+
+    //food banks: cursor for GET /donations?status=AVAILABLE, null when there are no more pages
+    private String nextCursor;
+
+    //true when there is more than this first page; establishments then reload the full list from GET /donations/establishment/{id}
+    private boolean hasMore;
+}
@@ -0,0 +1,22 @@
+package com.example.ZeroFoodWaste.model.dto;
+
+import com.example.ZeroFoodWaste.model.enums.RegistrationResult;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserRegistrationResultDTO {
+    //1-based position in the request
+    private long row;
+    private String email;
+    private RegistrationResult result;
+
+    //only set when result is CREATED
+    private UserResponseDTO user;
+
+    //why the row was not created, null when it was
+    private String message;
+}
@@ -14,8 +14,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Table(name = "Donations")
 public class Donation {
+    // pooled sequence: one round trip hands out 50 ids, so inserts can be JDBC-batched
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "donations_seq")
+    @SequenceGenerator(name = "donations_seq", sequenceName = "donations_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,25 @@
+package com.example.ZeroFoodWaste.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Left behind when a donation is deleted so delta-sync clients learn about the deletion.
+ */
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "DonationTombstones")
+public class DonationTombstone {
+
+    @Id
+    private Long donationId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -15,7 +15,8 @@ import java.util.List;
 public class Establishment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "establishments_seq")
+    @SequenceGenerator(name = "establishments_seq", sequenceName = "establishments_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(mappedBy = "establishment")
@@ -35,6 +36,10 @@ public class Establishment {
 
     private String description;
 
+    // geocoded from the address, null until then
+    private Double latitude;
+    private Double longitude;
+
     @OneToMany(mappedBy = "establishment")
     private List<Donation> donations;
 
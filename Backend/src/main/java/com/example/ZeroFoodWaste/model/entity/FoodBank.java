@@ -14,7 +14,8 @@ import java.util.List;
 @Table(name = "FoodBanks")
 public class FoodBank {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "food_banks_seq")
+    @SequenceGenerator(name = "food_banks_seq", sequenceName = "food_banks_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(mappedBy = "foodBank")
@@ -34,6 +35,10 @@ public class FoodBank {
     private String openingHours; // Para guardar el horario JSON
 
     private String description;
+
+    // geocoded from the address, null until then
+    private Double latitude;
+    private Double longitude;
     // -----------------------------
 
     @OneToMany(mappedBy = "foodBank")
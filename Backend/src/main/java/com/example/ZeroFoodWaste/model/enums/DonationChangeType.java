@@ -0,0 +1,11 @@
+package com.example.ZeroFoodWaste.model.enums;
+
+public enum DonationChangeType {
+    CREATED,
+    RESERVED,
+    CANCELLED,
+    PICKED_UP,
+    UPDATED,
+    EXPIRED,
+    DELETED
+}
@@ -0,0 +1,25 @@
+package com.example.ZeroFoodWaste.model.enums;
+
+import com.example.ZeroFoodWaste.exception.InvalidSortException;
+
+public enum DonationSort {
+    EXPIRATION_DATE,
+    CREATED_AT;
+
+    /**
+     * Parses the sort request parameter, accepting both the field name
+     * ({@code expirationDate}) and the constant name ({@code EXPIRATION_DATE}).
+     *
+     * @param value the raw request parameter, may be null
+     * @return the matching {@link DonationSort}, {@link #EXPIRATION_DATE} when value is null or blank
+     * @throws InvalidSortException if value names no sort
+     */
+    public static DonationSort from(String value) {
+        if (value == null || value.isBlank()) return EXPIRATION_DATE;
+        String normalized = value.trim().replace("_", "");
+        for (DonationSort sort : values()) {
+            if (sort.name().replace("_", "").equalsIgnoreCase(normalized)) return sort;
+        }
+        throw new InvalidSortException(value);
+    }
+}
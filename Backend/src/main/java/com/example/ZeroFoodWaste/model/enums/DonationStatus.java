@@ -3,5 +3,6 @@ package com.example.ZeroFoodWaste.model.enums;
 public enum DonationStatus {
     RESERVED,
     COMPLETED,
-    AVAILABLE
+    AVAILABLE,
+    EXPIRED
 }
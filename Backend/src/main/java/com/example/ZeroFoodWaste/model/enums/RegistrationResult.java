@@ -0,0 +1,8 @@
+package com.example.ZeroFoodWaste.model.enums;
+
+public enum RegistrationResult {
+    CREATED,
+    EMAIL_TAKEN,
+    DUPLICATE,
+    INVALID
+}
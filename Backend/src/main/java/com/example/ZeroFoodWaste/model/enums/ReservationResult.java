@@ -0,0 +1,7 @@
+package com.example.ZeroFoodWaste.model.enums;
+
+public enum ReservationResult {
+    RESERVED,
+    CONFLICT,
+    NOT_FOUND
+}
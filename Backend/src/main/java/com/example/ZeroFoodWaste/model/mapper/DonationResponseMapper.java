@@ -24,6 +24,8 @@ public interface DonationResponseMapper {
     @Mapping(target = "unit", source = "unit")
     @Mapping(target = "establishment", source = "establishment.name")
     @Mapping(target = "foodBank", source = "assignment.foodBank.name")
+    @Mapping(target = "latitude", source = "establishment.latitude")
+    @Mapping(target = "longitude", source = "establishment.longitude")
     DonationResponseDTO toDTO(Donation donation);
 
     List<DonationResponseDTO> toDTOList(List<Donation> donations);
@@ -29,6 +29,8 @@ public abstract class EstablishmentResponseMapper {
     @Mapping(target = "id",ignore = true)
     @Mapping(target = "user",ignore = true)
     @Mapping(target = "donations",ignore = true)
+    @Mapping(target = "latitude",ignore = true)
+    @Mapping(target = "longitude",ignore = true)
     public abstract Establishment toEntity(EstablishmentResponseDTO establishmentResponseDTO);
     //endregion
 
@@ -36,6 +38,8 @@ public abstract class EstablishmentResponseMapper {
     @Mapping(target = "id",ignore = true)
     @Mapping(target = "user",ignore = true)
     @Mapping(target = "donations",ignore = true)
+    @Mapping(target = "latitude",ignore = true)
+    @Mapping(target = "longitude",ignore = true)
     public abstract void updateEntityFromDTO(
             EstablishmentResponseDTO dto,
             @MappingTarget Establishment establishment
@@ -24,6 +24,8 @@ public interface FoodBankResponseMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "assignments", ignore = true)
+    @Mapping(target = "latitude", ignore = true)
+    @Mapping(target = "longitude", ignore = true)
     FoodBank toEntity(FoodBankResponseDTO foodBankResponseDTO);
     //endregion
 
@@ -31,6 +33,8 @@ public interface FoodBankResponseMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "assignments", ignore = true)
+    @Mapping(target = "latitude", ignore = true)
+    @Mapping(target = "longitude", ignore = true)
     void updateEntityFromDTO(
             FoodBankResponseDTO dto,
             @MappingTarget FoodBank foodBank
@@ -7,11 +7,14 @@ import com.example.ZeroFoodWaste.model.entity.Establishment;
 import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
 
 import org.mapstruct.AfterMapping;
+import org.mapstruct.Context;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 @Mapper(componentModel = "spring")
@@ -29,6 +32,20 @@ public abstract class NewDonationMapper {
     @Mapping(target = "assignment", ignore = true)
     public abstract Donation toEntity(NewDonationDTO dto);
 
+    /**
+     * Same as {@link #toEntity(NewDonationDTO)} with the establishments already loaded,
+     * for batches where many donations share a few establishments.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "establishment", expression = "java(establishments.get(dto.getEstablishmentId()))")
+    @Mapping(target = "status", expression = "java(mapStatus(dto.getStatus()))")
+    @Mapping(target = "unit", expression = "java(validateUnit(dto.getUnit()))")
+    @Mapping(target = "assignment", ignore = true)
+    @Mapping(target = "photoUrl", ignore = true)
+    public abstract Donation toEntity(NewDonationDTO dto, @Context Map<Long, Establishment> establishments);
+
     protected Establishment mapEstablishment(Long id) {
         if (id == null) return null;
         return establishmentRepository.findById(id)
@@ -44,8 +61,9 @@ public abstract class NewDonationMapper {
         }
     }
 
+    // named so MapStruct only uses it for unit and not for every String property
+    @Named("unit")
     public String validateUnit(String unit) {
-        System.out.println("Validate unit: " + unit);
         if (unit == null || unit.isBlank()) {
             throw new IllegalArgumentException("Unit cannot be null or empty");
         }
@@ -0,0 +1,20 @@
+package com.example.ZeroFoodWaste.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * JDBC batch writes for {@link DonationAssignmentRepository}. IDENTITY ids make Hibernate
+ * insert assignments one statement at a time, these go out as a single batch.
+ */
+public interface DonationAssignmentBatchRepository {
+
+    /**
+     * Inserts one assignment per donation, all for the same food bank.
+     *
+     * @param donationIds donations to assign
+     * @param foodBankId  food bank that reserved them
+     * @param acceptedAt  reservation time stored on every assignment
+     */
+    void insertAll(Collection<Long> donationIds, Long foodBankId, LocalDateTime acceptedAt);
+}
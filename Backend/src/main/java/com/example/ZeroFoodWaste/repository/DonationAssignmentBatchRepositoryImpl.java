@@ -0,0 +1,26 @@
+package com.example.ZeroFoodWaste.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@RequiredArgsConstructor
+public class DonationAssignmentBatchRepositoryImpl implements DonationAssignmentBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(Collection<Long> donationIds, Long foodBankId, LocalDateTime acceptedAt) {
+        Timestamp accepted = Timestamp.valueOf(acceptedAt);
+        jdbcTemplate.batchUpdate(
+                "insert into donation_assignments (donation_id, food_bank_id, accepted_at) values (?, ?, ?)",
+                donationIds, donationIds.size(), (statement, donationId) -> {
+                    statement.setLong(1, donationId);
+                    statement.setLong(2, foodBankId);
+                    statement.setTimestamp(3, accepted);
+                });
+    }
+}
@@ -1,13 +1,32 @@
 package com.example.ZeroFoodWaste.repository;
 
+import com.example.ZeroFoodWaste.model.dto.FoodBankUnitHistoryDTO;
 import com.example.ZeroFoodWaste.model.entity.DonationAssignment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-public interface DonationAssignmentRepository extends JpaRepository<DonationAssignment,Long> {
+public interface DonationAssignmentRepository extends JpaRepository<DonationAssignment,Long>,
+        DonationAssignmentBatchRepository {
     Optional<DonationAssignment> findByDonationId(Long donationId);
     List<DonationAssignment> findByFoodBankId(Long foodBankId);
     Optional<DonationAssignment> findByDonationIdAndFoodBankId(Long donationId, Long foodBankId);
+
+    /**
+     * What each food bank has accepted since a date, per unit, for the matching engine.
+     */
+    @Query("""
+            select new com.example.ZeroFoodWaste.model.dto.FoodBankUnitHistoryDTO(
+                fb.id, d.unit, count(d), avg(d.quantity))
+            from DonationAssignment a
+            join a.donation d
+            join a.foodBank fb
+            where a.acceptedAt >= :since
+            group by fb.id, d.unit
+            """)
+    List<FoodBankUnitHistoryDTO> findUnitHistorySince(@Param("since") LocalDateTime since);
 }
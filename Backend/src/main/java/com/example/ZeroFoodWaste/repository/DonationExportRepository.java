@@ -0,0 +1,25 @@
+package com.example.ZeroFoodWaste.repository;
+
+import com.example.ZeroFoodWaste.model.dto.DonationExportFilterDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationExportRowDTO;
+
+import java.util.function.Consumer;
+
+/**
+ * Forward-only reads of the donation history for {@link DonationRepository}, for exports
+ * too large to be returned as a list.
+ */
+public interface DonationExportRepository {
+
+    /**
+     * Passes every matching donation, joined with its assignment, to the sink in creation
+     * order. Rows are read from a forward-only cursor in a stateless session: nothing is
+     * kept after the sink returns, whatever the number of rows.
+     *
+     * @param filter    creation date range and statuses
+     * @param fetchSize rows fetched from the database per round trip
+     * @param sink      called once per row, on the calling thread
+     * @return number of rows exported
+     */
+    long streamHistory(DonationExportFilterDTO filter, int fetchSize, Consumer<DonationExportRowDTO> sink);
+}
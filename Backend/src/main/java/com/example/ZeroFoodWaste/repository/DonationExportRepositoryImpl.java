@@ -0,0 +1,70 @@
+package com.example.ZeroFoodWaste.repository;
+
+import com.example.ZeroFoodWaste.model.dto.DonationExportFilterDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationExportRowDTO;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.SelectionQuery;
+
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class DonationExportRepositoryImpl implements DonationExportRepository {
+
+    private static final String EXPORT_SELECT = """
+            select new com.example.ZeroFoodWaste.model.dto.DonationExportRowDTO(
+                d.id, e.id, e.name, d.productName, d.description, d.quantity, d.unit,
+                d.expirationDate, d.status, d.createdAt, d.updatedAt,
+                fb.id, fb.name, a.acceptedAt, a.pickedUpAt)
+            from Donation d
+            join d.establishment e
+            left join d.assignment a
+            left join a.foodBank fb
+            where 1 = 1
+            """;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public long streamHistory(DonationExportFilterDTO filter, int fetchSize, Consumer<DonationExportRowDTO> sink) {
+        StringBuilder hql = new StringBuilder(EXPORT_SELECT);
+        if (filter.getFrom() != null) hql.append(" and d.createdAt >= :from");
+        if (filter.getTo() != null) hql.append(" and d.createdAt < :to");
+        boolean byStatus = filter.getStatuses() != null && !filter.getStatuses().isEmpty();
+        if (byStatus) hql.append(" and d.status in :statuses");
+        hql.append(" order by d.createdAt, d.id");
+
+        // a stateless session has no persistence context, and its own connection so the
+        // cursor does not depend on whatever transaction the caller is in
+        try (StatelessSession session = entityManagerFactory.unwrap(SessionFactory.class).openStatelessSession()) {
+            // PostgreSQL only honours the fetch size with auto-commit off
+            Transaction transaction = session.beginTransaction();
+            try {
+                SelectionQuery<DonationExportRowDTO> query = session
+                        .createSelectionQuery(hql.toString(), DonationExportRowDTO.class)
+                        .setFetchSize(fetchSize)
+                        .setReadOnly(true);
+                if (filter.getFrom() != null) query.setParameter("from", filter.getFrom());
+                if (filter.getTo() != null) query.setParameter("to", filter.getTo());
+                if (byStatus) query.setParameterList("statuses", filter.getStatuses());
+
+                long rows = 0;
+                try (ScrollableResults<DonationExportRowDTO> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                    while (results.next()) {
+                        sink.accept(results.get());
+                        rows++;
+                    }
+                }
+                transaction.commit();
+                return rows;
+            } finally {
+                if (transaction.isActive()) transaction.rollback();
+            }
+        }
+    }
+}
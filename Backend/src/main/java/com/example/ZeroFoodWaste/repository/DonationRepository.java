@@ -1,14 +1,226 @@
 package com.example.ZeroFoodWaste.repository;
 
+import com.example.ZeroFoodWaste.model.dto.DonationChangeDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationDeadlineDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
 import com.example.ZeroFoodWaste.model.entity.Donation;
 import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface DonationRepository extends JpaRepository<Donation,Long> {
-  List<Donation> findByStatus(DonationStatus status);
-  List<Donation> findAllByEstablishmentId(Long establishmentId);
-  List<Donation> findByAssignmentId(Long foodBankId);
-  List<Donation> findByAssignment_FoodBank_Id(Long foodBankId);
+public interface DonationRepository extends JpaRepository<Donation,Long>, DonationExportRepository {
+  //region read-only projections
+  /**
+   * Builds {@link DonationResponseDTO} rows in a single joined select, so listing donations
+   * never loads the establishment or the assignment as separate entities.
+   */
+  String DTO_SELECT = """
+          select new com.example.ZeroFoodWaste.model.dto.DonationResponseDTO(
+              d.id, e.id, a.id, d.productName, d.description, d.quantity, d.unit,
+              d.expirationDate, d.status, e.name, fb.name, d.createdAt, e.latitude, e.longitude)
+          from Donation d
+          join d.establishment e
+          left join d.assignment a
+          left join a.foodBank fb
+          """;
+
+  @Query(DTO_SELECT + "where d.status = :status")
+  List<DonationResponseDTO> findDTOByStatus(@Param("status") DonationStatus status);
+
+  @Query(DTO_SELECT + "where d.id = :id")
+  Optional<DonationResponseDTO> findDTOById(@Param("id") Long id);
+
+  @Query(DTO_SELECT + "where e.id = :establishmentId order by d.createdAt, d.id")
+  List<DonationResponseDTO> findDTOByEstablishmentId(@Param("establishmentId") Long establishmentId);
+
+  @Query(DTO_SELECT + "where e.id = :establishmentId order by d.createdAt, d.id")
+  List<DonationResponseDTO> findDTOByEstablishmentId(@Param("establishmentId") Long establishmentId,
+                                                     Limit limit);
+
+  @Query("""
+          select new com.example.ZeroFoodWaste.model.dto.DonationResponseDTO(
+              d.id, e.id, a.id, d.productName, d.description, d.quantity, d.unit,
+              d.expirationDate, d.status, e.name, fb.name, d.createdAt, e.latitude, e.longitude)
+          from DonationAssignment a
+          join a.donation d
+          join d.establishment e
+          join a.foodBank fb
+          where fb.id = :foodBankId
+          order by a.acceptedAt, a.id
+          """)
+  List<DonationResponseDTO> findDTOByFoodBankId(@Param("foodBankId") Long foodBankId);
+  //endregion
+
+  //region keyset pagination
+  @Query(DTO_SELECT + """
+          where d.status = :status
+            and (:establishmentId is null or e.id = :establishmentId)
+            and (:unit is null or d.unit = :unit)
+            and d.expirationDate >= :expirationDate
+            and (d.expirationDate > :expirationDate or d.id > :id)
+          order by d.expirationDate, d.id
+          """)
+  List<DonationResponseDTO> findPageByExpirationDate(@Param("status") DonationStatus status,
+                                                     @Param("establishmentId") Long establishmentId,
+                                                     @Param("unit") String unit,
+                                                     @Param("expirationDate") LocalDateTime expirationDate,
+                                                     @Param("id") Long id,
+                                                     Limit limit);
+
+  @Query(DTO_SELECT + """
+          where d.status = :status
+            and (:establishmentId is null or e.id = :establishmentId)
+            and (:unit is null or d.unit = :unit)
+          order by d.expirationDate, d.id
+          """)
+  List<DonationResponseDTO> findFirstPageByExpirationDate(@Param("status") DonationStatus status,
+                                                          @Param("establishmentId") Long establishmentId,
+                                                          @Param("unit") String unit,
+                                                          Limit limit);
+
+  @Query(DTO_SELECT + """
+          where d.status = :status
+            and (:establishmentId is null or e.id = :establishmentId)
+            and (:unit is null or d.unit = :unit)
+            and d.createdAt >= :createdAt
+            and (d.createdAt > :createdAt or d.id > :id)
+          order by d.createdAt, d.id
+          """)
+  List<DonationResponseDTO> findPageByCreatedAt(@Param("status") DonationStatus status,
+                                                @Param("establishmentId") Long establishmentId,
+                                                @Param("unit") String unit,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
+  @Query(DTO_SELECT + """
+          where d.status = :status
+            and (:establishmentId is null or e.id = :establishmentId)
+            and (:unit is null or d.unit = :unit)
+          order by d.createdAt, d.id
+          """)
+  List<DonationResponseDTO> findFirstPageByCreatedAt(@Param("status") DonationStatus status,
+                                                     @Param("establishmentId") Long establishmentId,
+                                                     @Param("unit") String unit,
+                                                     Limit limit);
+  //endregion
+
+  //region delta sync
+  String CHANGE_SELECT = """
+          select new com.example.ZeroFoodWaste.model.dto.DonationChangeDTO(
+              d.id, e.id, a.id, d.productName, d.description, d.quantity, d.unit,
+              d.expirationDate, d.status, e.name, fb.name, d.createdAt, e.latitude, e.longitude, d.updatedAt)
+          from Donation d
+          join d.establishment e
+          left join d.assignment a
+          left join a.foodBank fb
+          """;
+
+  @Query(CHANGE_SELECT + """
+          where d.updatedAt >= :updatedAt
+            and (d.updatedAt > :updatedAt or d.id > :id)
+          order by d.updatedAt, d.id
+          """)
+  List<DonationChangeDTO> findChangesAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                           @Param("id") Long id,
+                                           Limit limit);
+
+  @Query(CHANGE_SELECT + "order by d.updatedAt, d.id")
+  List<DonationChangeDTO> findFirstChanges(Limit limit);
+  //endregion
+
+  //region reservation
+  /**
+   * Claims an AVAILABLE donation. The row lock taken by the UPDATE makes concurrent
+   * claims of the same donation wait, and they then match no row once it is RESERVED.
+   *
+   * @return 1 if this call reserved the donation, 0 if it was not AVAILABLE
+   */
+  @Modifying
+  @Query("""
+          update Donation d
+          set d.status = com.example.ZeroFoodWaste.model.enums.DonationStatus.RESERVED, d.updatedAt = :now
+          where d.id = :id
+            and d.status = com.example.ZeroFoodWaste.model.enums.DonationStatus.AVAILABLE
+          """)
+  int reserve(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+  @Query("select d.status from Donation d where d.id = :id")
+  Optional<DonationStatus> findStatusById(@Param("id") Long id);
+
+  /**
+   * Set-based {@link #reserve} for a batch of donations.
+   *
+   * @return number of donations reserved
+   */
+  @Modifying
+  @Query("""
+          update Donation d
+          set d.status = com.example.ZeroFoodWaste.model.enums.DonationStatus.RESERVED, d.updatedAt = :now
+          where d.id in :ids
+            and d.status = com.example.ZeroFoodWaste.model.enums.DonationStatus.AVAILABLE
+          """)
+  int reserveAll(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+  /**
+   * Reads back the donations claimed by the {@link #reserveAll} call that used the same now:
+   * other transactions' reservations are either not visible yet or already have their assignment.
+   */
+  @Query("""
+          select d.id from Donation d
+          left join d.assignment a
+          where d.id in :ids
+            and d.status = com.example.ZeroFoodWaste.model.enums.DonationStatus.RESERVED
+            and d.updatedAt = :now
+            and a.id is null
+          """)
+  List<Long> findReservedWithoutAssignment(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+  @Query(DTO_SELECT + "where d.id in :ids")
+  List<DonationResponseDTO> findDTOByIdIn(@Param("ids") Collection<Long> ids);
+  //endregion
+
+  //region expiry
+  @Query("""
+          select new com.example.ZeroFoodWaste.model.dto.DonationDeadlineDTO(d.id, d.expirationDate)
+          from Donation d
+          where d.status = :status and d.expirationDate < :before
+          """)
+  List<DonationDeadlineDTO> findDeadlinesBefore(@Param("status") DonationStatus status,
+                                                @Param("before") LocalDateTime before);
+
+  /**
+   * Moves the given donations to EXPIRED in one statement. Donations that are no longer
+   * AVAILABLE, or whose expiration date was pushed back, are left untouched.
+   *
+   * @return number of donations expired
+   */
+  @Modifying(clearAutomatically = true)
+  @Query("""
+          update Donation d
+          set d.status = com.example.ZeroFoodWaste.model.enums.DonationStatus.EXPIRED, d.updatedAt = :now
+          where d.id in :ids
+            and d.status = com.example.ZeroFoodWaste.model.enums.DonationStatus.AVAILABLE
+            and d.expirationDate <= :now
+          """)
+  int expire(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+  /**
+   * Reads back the donations changed by the {@link #expire} call that used the same now.
+   */
+  @Query(DTO_SELECT + """
+          where d.id in :ids
+            and d.status = com.example.ZeroFoodWaste.model.enums.DonationStatus.EXPIRED
+            and d.updatedAt = :now
+          """)
+  List<DonationResponseDTO> findDTOExpiredAt(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+  //endregion
 }
@@ -0,0 +1,31 @@
+package com.example.ZeroFoodWaste.repository;
+
+import com.example.ZeroFoodWaste.model.entity.DonationTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DonationTombstoneRepository extends JpaRepository<DonationTombstone, Long> {
+
+  @Query("""
+          select t from DonationTombstone t
+          where t.deletedAt >= :deletedAt
+            and (t.deletedAt > :deletedAt or t.donationId > :id)
+          order by t.deletedAt, t.donationId
+          """)
+  List<DonationTombstone> findChangesAfter(@Param("deletedAt") LocalDateTime deletedAt,
+                                           @Param("id") Long id,
+                                           Limit limit);
+
+  @Query("select t from DonationTombstone t order by t.deletedAt, t.donationId")
+  List<DonationTombstone> findFirstChanges(Limit limit);
+
+  @Modifying
+  @Query("delete from DonationTombstone t where t.deletedAt < :cutoff")
+  int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
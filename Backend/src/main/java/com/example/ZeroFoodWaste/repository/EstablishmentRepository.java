@@ -3,8 +3,10 @@ package com.example.ZeroFoodWaste.repository;
 import com.example.ZeroFoodWaste.model.entity.Establishment;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface EstablishmentRepository extends JpaRepository<Establishment, Long> {
     Optional<Establishment> findByUserId(Long userId);
+    List<Establishment> findByLatitudeIsNullOrLongitudeIsNull();
 }
@@ -1,10 +1,21 @@
 package com.example.ZeroFoodWaste.repository;
 
+import com.example.ZeroFoodWaste.model.dto.FoodBankLocationDTO;
 import com.example.ZeroFoodWaste.model.entity.FoodBank;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface FoodBankRepository extends JpaRepository<FoodBank, Long> {
     Optional<FoodBank> findByUserId(Long userId);
+    List<FoodBank> findByLatitudeIsNullOrLongitudeIsNull();
+
+    @Query("""
+            select new com.example.ZeroFoodWaste.model.dto.FoodBankLocationDTO(fb.id, fb.latitude, fb.longitude)
+            from FoodBank fb
+            where fb.latitude is not null and fb.longitude is not null
+            """)
+    List<FoodBankLocationDTO> findLocations();
 }
@@ -2,11 +2,18 @@ package com.example.ZeroFoodWaste.repository;
 
 import com.example.ZeroFoodWaste.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmailAndPasswordHash(String email, String passwordHash);
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
@@ -0,0 +1,430 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.event.DonationChangedEvent;
+import com.example.ZeroFoodWaste.event.EstablishmentChangedEvent;
+import com.example.ZeroFoodWaste.model.dto.DonationPageDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.EstablishmentResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.NearbyDonationDTO;
+import com.example.ZeroFoodWaste.model.enums.DonationChangeType;
+import com.example.ZeroFoodWaste.model.enums.DonationSort;
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import com.example.ZeroFoodWaste.repository.DonationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory copy of the AVAILABLE donations ordered by (expirationDate, id), so the
+ * food bank dashboards can list them without touching the database. Donations whose
+ * establishment has coordinates are also bucketed in a grid of {@value #CELL_DEGREES} degree
+ * cells for the nearby search.
+ * <p>
+ * Reads only navigate a {@link ConcurrentSkipListMap} and never lock. Writes come from
+ * {@link DonationChangedEvent}s and {@link EstablishmentChangedEvent}s once their transaction
+ * has committed. The index is loaded from the table when the application is ready and
+ * {@link #verify()} periodically compares both and repairs any drift, e.g. after a direct
+ * database edit.
+ * <p>
+ * Stored donations are never modified, a change replaces them, and reads hand out copies so
+ * callers can't alter what other readers see.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailableDonationIndex {
+
+    // about 1.1 km north-south
+    static final double CELL_DEGREES = 0.01;
+    private static final int ROWS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int COLUMNS = (int) Math.round(360 / CELL_DEGREES);
+
+    private final DonationRepository donationRepository;
+
+    private final ConcurrentSkipListMap<Key, DonationResponseDTO> byExpiration = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, Key> keysById = new ConcurrentHashMap<>();
+    // located donations by grid cell, then by id
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Long, DonationResponseDTO>> byCell =
+            new ConcurrentHashMap<>();
+    // donations changed while rebuild() or verify() runs, their database snapshot may already be older than them
+    private final Set<Long> changedDuringReconcile = ConcurrentHashMap.newKeySet();
+    private volatile boolean reconciling;
+    private volatile boolean ready;
+
+    /**
+     * @return true once the index has been loaded from the database and can serve reads
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return keysById.size();
+    }
+
+    //region read
+
+    /**
+     * Same contract as {@link DonationService#getDonationPage} for AVAILABLE donations sorted by
+     * expiration date, cursors issued by either one are interchangeable.
+     *
+     * @param after           position of the last row of the previous page, null for the first page
+     * @param size            page size
+     * @param establishmentId optional filter by establishment
+     * @param unit            optional filter by unit
+     * @return the page and the cursor of the next one
+     */
+    public DonationPageDTO page(DonationCursor after, int size, Long establishmentId, String unit) {
+        NavigableMap<Key, DonationResponseDTO> view = after == null
+                ? byExpiration
+                : byExpiration.tailMap(new Key(after.key(), after.id()), false);
+
+        List<DonationResponseDTO> items = new ArrayList<>(Math.min(size, 64));
+        Key last = null;
+        boolean more = false;
+        for (Map.Entry<Key, DonationResponseDTO> entry : view.entrySet()) {
+            DonationResponseDTO dto = entry.getValue();
+            if (establishmentId != null && !establishmentId.equals(dto.getEstablishmentId())) continue;
+            if (unit != null && !unit.equals(dto.getUnit())) continue;
+            if (items.size() == size) {
+                more = true;
+                break;
+            }
+            items.add(new DonationResponseDTO(dto));
+            last = entry.getKey();
+        }
+
+        String nextCursor = more
+                ? new DonationCursor(DonationSort.EXPIRATION_DATE, last.expirationDate(), last.id()).encode()
+                : null;
+        return new DonationPageDTO(items, nextCursor);
+    }
+
+    /**
+     * @return every AVAILABLE donation ordered by expiration date
+     */
+    public List<DonationResponseDTO> all() {
+        List<DonationResponseDTO> all = new ArrayList<>(keysById.size());
+        for (DonationResponseDTO dto : byExpiration.values()) all.add(new DonationResponseDTO(dto));
+        return all;
+    }
+
+    /**
+     * The limit AVAILABLE donations nearest to a point within radiusKm, nearest first and, at the
+     * same distance, expiring first. Grid cells are read in rings around the cell of the point and
+     * the search stops as soon as no further ring can hold a closer donation, so the cost depends
+     * on the donations around the point and not on the size of the index or of the radius.
+     *
+     * @param center   searched point
+     * @param radiusKm search radius
+     * @param limit    maximum number of results, at least 1
+     * @return the nearest donations with their distance
+     */
+    public List<NearbyDonationDTO> nearby(GeoPoint center, double radiusKm, int limit) {
+        Nearest nearest = new Nearest(center, radiusKm, limit);
+        double latitudeSpan = radiusKm / GeoPoint.KM_PER_DEGREE;
+        // a degree of longitude is shortest on the edge of the circle closest to the pole
+        double farthestLatitude = Math.min(90, Math.abs(center.latitude()) + latitudeSpan);
+        double longitudeSpan = latitudeSpan / Math.cos(Math.toRadians(farthestLatitude));
+        int centerRow = row(center.latitude());
+        int rowRadius = (int) Math.ceil(latitudeSpan / CELL_DEGREES);
+
+        if (!(longitudeSpan < 90)) {
+            // near a pole the circle goes all the way round: read whole rows, each column once
+            for (int row = Math.max(0, centerRow - rowRadius); row <= Math.min(ROWS - 1, centerRow + rowRadius); row++) {
+                for (int column = 0; column < COLUMNS; column++) visit(row, column, nearest);
+            }
+            return nearest.sorted();
+        }
+
+        int centerColumn = column(center.longitude());
+        int columnRadius = (int) Math.ceil(longitudeSpan / CELL_DEGREES);
+        // no cell of ring r is closer than r - 1 whole cells to the point
+        double cellKm = CELL_DEGREES * GeoPoint.KM_PER_DEGREE * Math.cos(Math.toRadians(farthestLatitude));
+        for (int ring = 0; ring <= Math.max(rowRadius, columnRadius); ring++) {
+            if (nearest.isFull() && nearest.farthestKm() < (ring - 1) * cellKm) break;
+            for (int dr = -Math.min(ring, rowRadius); dr <= Math.min(ring, rowRadius); dr++) {
+                int row = centerRow + dr;
+                if (row < 0 || row >= ROWS) continue;
+                if (Math.abs(dr) == ring) {
+                    for (int dc = -Math.min(ring, columnRadius); dc <= Math.min(ring, columnRadius); dc++) {
+                        visit(row, centerColumn + dc, nearest);
+                    }
+                } else if (ring <= columnRadius) {
+                    visit(row, centerColumn - ring, nearest);
+                    visit(row, centerColumn + ring, nearest);
+                }
+            }
+        }
+        return nearest.sorted();
+    }
+
+    private void visit(int row, int column, Nearest nearest) {
+        // columns past the antimeridian wrap around
+        Map<Long, DonationResponseDTO> cell = byCell.get(cell(row, Math.floorMod(column, COLUMNS)));
+        if (cell != null) cell.values().forEach(nearest::offer);
+    }
+    //endregion
+
+    //region write
+    // applied before DonationChangeCounter hands out the new ETag
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onDonationChanged(DonationChangedEvent event) {
+        if (reconciling) changedDuringReconcile.add(event.donation().getId());
+        apply(event.type(), event.donation());
+    }
+
+    /**
+     * Donations carry the name and coordinates of their establishment; its indexed donations
+     * are copied with the new values and moved to the grid cell of the new position.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onEstablishmentChanged(EstablishmentChangedEvent event) {
+        EstablishmentResponseDTO establishment = event.establishment();
+        for (DonationResponseDTO indexed : byExpiration.values()) {
+            if (!establishment.getEstablishmentId().equals(indexed.getEstablishmentId())) continue;
+            if (reconciling) changedDuringReconcile.add(indexed.getId());
+            keysById.computeIfPresent(indexed.getId(), (id, key) -> {
+                DonationResponseDTO current = byExpiration.get(key);
+                DonationResponseDTO moved = new DonationResponseDTO(current);
+                moved.setEstablishment(establishment.getName());
+                moved.setLatitude(establishment.getLatitude());
+                moved.setLongitude(establishment.getLongitude());
+                unlocate(current);
+                byExpiration.put(key, moved);
+                locate(moved);
+                return key;
+            });
+        }
+    }
+
+    void apply(DonationChangeType type, DonationResponseDTO dto) {
+        Long id = dto.getId();
+        boolean available = type != DonationChangeType.DELETED
+                && DonationStatus.AVAILABLE.name().equals(dto.getStatus());
+        // compute serializes writers of the same donation, readers are never blocked
+        keysById.compute(id, (ignored, previous) -> {
+            if (previous != null) unlocate(byExpiration.remove(previous));
+            if (!available) return null;
+            Key key = new Key(dto.getExpirationDate(), id);
+            byExpiration.put(key, dto);
+            locate(dto);
+            return key;
+        });
+    }
+
+    private void locate(DonationResponseDTO dto) {
+        Long cell = cellOf(dto);
+        if (cell == null) return;
+        byCell.compute(cell, (ignored, donations) -> {
+            if (donations == null) donations = new ConcurrentHashMap<>();
+            donations.put(dto.getId(), dto);
+            return donations;
+        });
+    }
+
+    private void unlocate(DonationResponseDTO dto) {
+        Long cell = dto == null ? null : cellOf(dto);
+        if (cell == null) return;
+        byCell.computeIfPresent(cell, (ignored, donations) -> {
+            donations.remove(dto.getId());
+            return donations.isEmpty() ? null : donations;
+        });
+    }
+
+    /**
+     * Reloads the whole index from the donations table. Requests are already being served, so
+     * like {@link #verify()} it leaves alone the donations changed by a commit in the meantime
+     * instead of clearing the index first.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        ready = false;
+        ConsistencyReport report = reconcile();
+        ready = true;
+        log.info("Available donation index loaded with {} donations", report.databaseCount());
+    }
+    //endregion
+
+    //region consistency
+
+    /**
+     * Compares the index against the donations table and repairs every difference found.
+     * Donations changed by a commit while the check runs are left alone, their events are newer
+     * than the snapshot read here.
+     *
+     * @return what was out of sync before the repair
+     */
+    @Scheduled(initialDelayString = "${donations.available-index.check-interval-ms:300000}",
+            fixedDelayString = "${donations.available-index.check-interval-ms:300000}")
+    public synchronized ConsistencyReport verify() {
+        ConsistencyReport report = reconcile();
+        if (!report.isConsistent()) {
+            log.warn("Available donation index was out of sync and has been repaired: {}", report);
+        }
+        return report;
+    }
+
+    private ConsistencyReport reconcile() {
+        changedDuringReconcile.clear();
+        reconciling = true;
+        try {
+            return compareAndRepair();
+        } finally {
+            reconciling = false;
+        }
+    }
+
+    private ConsistencyReport compareAndRepair() {
+        Map<Long, DonationResponseDTO> expected = new HashMap<>();
+        donationRepository.findDTOByStatus(DonationStatus.AVAILABLE).forEach(dto -> expected.put(dto.getId(), dto));
+
+        List<Long> missing = new ArrayList<>();
+        List<Long> stale = new ArrayList<>();
+        List<Long> extra = new ArrayList<>();
+        expected.forEach((id, dto) -> {
+            if (changedDuringReconcile.contains(id)) return;
+            Key key = keysById.get(id);
+            if (key == null) {
+                missing.add(id);
+                apply(DonationChangeType.UPDATED, dto);
+            } else if (!Objects.equals(byExpiration.get(key), dto)) {
+                stale.add(id);
+                apply(DonationChangeType.UPDATED, dto);
+            }
+        });
+        for (Long id : keysById.keySet()) {
+            if (!expected.containsKey(id) && !changedDuringReconcile.contains(id)) {
+                extra.add(id);
+                keysById.computeIfPresent(id, (ignored, key) -> {
+                    unlocate(byExpiration.remove(key));
+                    return null;
+                });
+            }
+        }
+
+        return new ConsistencyReport(expected.size(), missing, stale, extra);
+    }
+
+    /**
+     * @param databaseCount number of AVAILABLE donations in the table
+     * @param missing       ids in the table but not in the index
+     * @param stale         ids whose indexed copy differed from the table
+     * @param extra         ids in the index that are no longer AVAILABLE in the table
+     */
+    public record ConsistencyReport(int databaseCount, List<Long> missing, List<Long> stale, List<Long> extra) {
+        public boolean isConsistent() {
+            return missing.isEmpty() && stale.isEmpty() && extra.isEmpty();
+        }
+    }
+    //endregion
+
+    //region grid
+    private static Long cellOf(DonationResponseDTO dto) {
+        GeoPoint point = GeoPoint.ofNullable(dto.getLatitude(), dto.getLongitude());
+        return point == null ? null : cell(row(point.latitude()), Math.floorMod(column(point.longitude()), COLUMNS));
+    }
+
+    private static long cell(int row, int column) {
+        return (long) row * COLUMNS + column;
+    }
+
+    private static int row(double latitude) {
+        return Math.min(ROWS - 1, (int) Math.floor((latitude + 90) / CELL_DEGREES));
+    }
+
+    // not wrapped, longitudes from 180 on give columns outside [0, COLUMNS)
+    private static int column(double longitude) {
+        return (int) Math.floor((longitude + 180) / CELL_DEGREES);
+    }
+
+    /**
+     * The limit donations nearest to a point within a radius. The heap keeps its farthest
+     * element at the head, so each donation is compared with it and dropped in O(1) once the
+     * heap is full and the donation is farther.
+     */
+    static final class Nearest {
+        private static final Comparator<NearbyDonationDTO> ORDER =
+                Comparator.comparingDouble(NearbyDonationDTO::getDistanceKm)
+                        .thenComparing(nearby -> nearby.getDonation().getExpirationDate())
+                        .thenComparing(nearby -> nearby.getDonation().getId());
+
+        private final GeoPoint center;
+        private final double radiusKm;
+        private final int limit;
+        private final PriorityQueue<NearbyDonationDTO> kept;
+
+        Nearest(GeoPoint center, double radiusKm, int limit) {
+            this.center = center;
+            this.radiusKm = radiusKm;
+            this.limit = limit;
+            this.kept = new PriorityQueue<>(Math.min(limit, 64), ORDER.reversed());
+        }
+
+        void offer(DonationResponseDTO dto) {
+            if (dto.getLatitude() == null || dto.getLongitude() == null) return;
+            // the north-south gap alone is a lower bound of the distance and far cheaper to compute
+            double latitudeKm = Math.abs(dto.getLatitude() - center.latitude()) * GeoPoint.KM_PER_DEGREE;
+            if (latitudeKm > radiusKm || isFull() && latitudeKm > farthestKm()) return;
+            double distanceKm = center.distanceKm(dto.getLatitude(), dto.getLongitude());
+            if (distanceKm > radiusKm || isFull() && distanceKm > farthestKm()) return;
+            NearbyDonationDTO candidate = new NearbyDonationDTO(distanceKm, dto);
+            if (kept.size() < limit) {
+                kept.add(candidate);
+            } else if (ORDER.compare(candidate, kept.peek()) < 0) {
+                kept.poll();
+                kept.add(candidate);
+            }
+        }
+
+        boolean isFull() {
+            return kept.size() == limit;
+        }
+
+        // distance of the farthest donation kept
+        double farthestKm() {
+            return kept.isEmpty() ? 0 : kept.peek().getDistanceKm();
+        }
+
+        List<NearbyDonationDTO> sorted() {
+            List<NearbyDonationDTO> result = new ArrayList<>(kept.size());
+            for (NearbyDonationDTO nearby : kept) {
+                result.add(new NearbyDonationDTO(nearby.getDistanceKm(), new DonationResponseDTO(nearby.getDonation())));
+            }
+            result.sort(ORDER);
+            return result;
+        }
+    }
+    //endregion
+
+    private record Key(LocalDateTime expirationDate, Long id) implements Comparable<Key> {
+        private static final Comparator<Key> ORDER = Comparator.comparing(Key::expirationDate)
+                .thenComparing(Key::id);
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.ZeroFoodWaste.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time: comma separated, fields optionally quoted,
+ * "" inside quotes for a quote, line breaks allowed inside quoted fields. Only the current
+ * record is held in memory, and no more than maxRecordLength characters of it: the rest of a
+ * longer record is read and dropped.
+ */
+class CsvRecordReader {
+
+    private final Reader reader;
+    private final int maxRecordLength;
+    private int line = 1;
+    private int recordLine;
+    private int pending = -2;
+
+    /**
+     * @param reader          should be buffered, it is read one character at a time
+     * @param maxRecordLength characters kept per record, separators included
+     */
+    CsvRecordReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * @return the fields of the next record, or null at the end of the input
+     * @throws IOException if the input cannot be read
+     * @throws RecordTooLongException if the record is longer than maxRecordLength, the reader is
+     *                                then positioned on the following record
+     * @throws IllegalArgumentException if a quoted field is never closed
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            // blank lines between records are skipped
+            if (c == '\n') line++;
+            c = read();
+        }
+        if (c == -1) return null;
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        while (true) {
+            if (length > maxRecordLength || ++length > maxRecordLength) {
+                // keep parsing to find where the record ends, but stop storing it
+                field.setLength(0);
+                fields.clear();
+            }
+            if (quoted) {
+                if (c == -1) throw new IllegalArgumentException("unterminated quoted field");
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') line++;
+                return end(fields, field, length);
+            } else if (c == '\r') {
+                int following = read();
+                if (following != '\n') pending = following;
+                line++;
+                return end(fields, field, length);
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private List<String> end(List<String> fields, StringBuilder field, int length) {
+        if (length > maxRecordLength) throw new RecordTooLongException(maxRecordLength);
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * @return line number where the record returned by the last {@link #next()} starts
+     */
+    int recordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    /**
+     * A record longer than the limit; unlike an unterminated quote it can be skipped and the
+     * records after it read.
+     */
+    static class RecordTooLongException extends IllegalArgumentException {
+        RecordTooLongException(int maxRecordLength) {
+            super("record longer than " + maxRecordLength + " characters");
+        }
+    }
+}
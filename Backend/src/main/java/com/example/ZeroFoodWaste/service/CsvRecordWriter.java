@@ -0,0 +1,40 @@
+package com.example.ZeroFoodWaste.service;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes RFC 4180 CSV records, the counterpart of {@link CsvRecordReader}: fields holding a
+ * comma, a quote or a line break are quoted, nulls are written as empty fields.
+ */
+class CsvRecordWriter {
+
+    private final Writer writer;
+
+    CsvRecordWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    void write(Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) writer.write(',');
+            if (fields[i] != null) writeField(fields[i].toString());
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.event.DonationChangedEvent;
+import com.example.ZeroFoodWaste.event.EstablishmentChangedEvent;
+import com.example.ZeroFoodWaste.event.FoodBankChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts committed donation changes. Donation listings use it as their ETag, so an unchanged
+ * collection is answered with a 304 without running a query or serializing a body.
+ * Establishment and food bank changes count too, their names and coordinates are part of the listings.
+ * <p>
+ * The counter lives in memory, the boot time in the tag keeps ETags handed out before a
+ * restart from matching again.
+ * <p>
+ * It moves after the in-memory copies such as {@link AvailableDonationIndex} have applied a
+ * change, otherwise a request in between would get the new tag with the old list and then
+ * 304s for it until the next change. Listeners left unordered, like the event stream, run
+ * after it.
+ */
+@Component
+public class DonationChangeCounter {
+
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+
+    @Order(ORDER)
+    @TransactionalEventListener
+    public void onDonationChanged(DonationChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @Order(ORDER)
+    @TransactionalEventListener
+    public void onEstablishmentChanged(EstablishmentChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @Order(ORDER)
+    @TransactionalEventListener
+    public void onFoodBankChanged(FoodBankChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * @return the current version formatted as a strong ETag
+     */
+    public String etag() {
+        return "\"" + bootId + "-" + version.get() + "\"";
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Opaque position in the donation change feed: a change time plus the donation id as
+ * tie-breaker, so changes stamped with the same time are neither skipped nor repeated.
+ *
+ * @param at change time (updatedAt of a donation, deletedAt of a tombstone)
+ * @param id id of the donation changed at that time
+ */
+public record DonationChangeCursor(LocalDateTime at, Long id) implements Comparable<DonationChangeCursor> {
+
+    private static final String PREFIX = "CHANGES";
+    private static final Comparator<DonationChangeCursor> ORDER =
+            Comparator.comparing(DonationChangeCursor::at).thenComparing(DonationChangeCursor::id);
+
+    public String encode() {
+        String raw = PREFIX + "|" + at + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public int compareTo(DonationChangeCursor other) {
+        return ORDER.compare(this, other);
+    }
+
+    /**
+     * @param cursor the encoded cursor received from the client
+     * @return the decoded cursor
+     * @throws InvalidCursorException if the cursor is malformed or is a listing cursor
+     */
+    public static DonationChangeCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !PREFIX.equals(parts[0])) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new DonationChangeCursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
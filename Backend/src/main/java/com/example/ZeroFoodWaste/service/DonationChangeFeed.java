@@ -0,0 +1,132 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.exception.ChangeCursorExpiredException;
+import com.example.ZeroFoodWaste.model.dto.DonationChangeDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationChangesDTO;
+import com.example.ZeroFoodWaste.model.entity.DonationTombstone;
+import com.example.ZeroFoodWaste.repository.DonationRepository;
+import com.example.ZeroFoodWaste.repository.DonationTombstoneRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta sync for clients that keep a local copy of the donations: returns what changed
+ * after a cursor, read in (updatedAt, id) order from idx_donations_updated and in
+ * (deletedAt, donationId) order from the tombstones left by deletions.
+ * <p>
+ * updatedAt is stamped before commit, so a slow transaction can become visible with a time
+ * older than rows already returned. No cursor therefore goes past now minus the settle window:
+ * a page that reaches into the window is the last one, and its cursor stops at the settle
+ * point. Changes inside the window are returned again on the next call, which is harmless for
+ * clients that upsert by id.
+ */
+@Slf4j
+@Service
+public class DonationChangeFeed {
+
+    private final DonationRepository donationRepository;
+    private final DonationTombstoneRepository tombstoneRepository;
+    private final Duration settleWindow;
+    private final Duration tombstoneRetention;
+
+    public DonationChangeFeed(
+            DonationRepository donationRepository,
+            DonationTombstoneRepository tombstoneRepository,
+            @Value("${donations.changes.settle-ms:5000}") long settleMs,
+            @Value("${donations.changes.tombstone-retention-days:30}") long retentionDays
+    ) {
+        this.donationRepository = donationRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.settleWindow = Duration.ofMillis(settleMs);
+        this.tombstoneRetention = Duration.ofDays(retentionDays);
+    }
+
+    /**
+     * Obtains the donations changed or deleted after a cursor. Clients apply {@code changed}
+     * first and {@code deleted} second, and call again with nextCursor while hasMore is true.
+     * hasMore stays false while the remaining changes are too recent to be final, even if they
+     * did not fit in this page; they come with the next poll.
+     *
+     * @param since the nextCursor of the previous call, null for a full initial load
+     * @param limit maximum number of changes, defaults to {@value DonationService#DEFAULT_PAGE_SIZE}
+     *              and is capped at {@value DonationService#MAX_PAGE_SIZE}
+     * @return DonationChangesDTO with the changes and the cursor to continue from
+     * @throws com.example.ZeroFoodWaste.exception.InvalidCursorException if the cursor is malformed
+     * @throws ChangeCursorExpiredException if deletions after the cursor may already have been pruned
+     */
+    @Transactional
+    public DonationChangesDTO getChanges(String since, Integer limit) {
+        int size = limit == null
+                ? DonationService.DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(limit, DonationService.MAX_PAGE_SIZE));
+        LocalDateTime now = LocalDateTime.now();
+        DonationChangeCursor after = since == null || since.isBlank() ? null : DonationChangeCursor.decode(since);
+        if (after != null && after.at().isBefore(now.minus(tombstoneRetention))) {
+            throw new ChangeCursorExpiredException(since);
+        }
+
+        // donations before tombstones: a delete committing in between shows up in both lists,
+        // never in neither
+        Limit fetch = Limit.of(size + 1);
+        List<DonationChangeDTO> donations = after == null
+                ? donationRepository.findFirstChanges(fetch)
+                : donationRepository.findChangesAfter(after.at(), after.id(), fetch);
+        List<DonationTombstone> tombstones = after == null
+                ? tombstoneRepository.findFirstChanges(fetch)
+                : tombstoneRepository.findChangesAfter(after.at(), after.id(), fetch);
+
+        List<DonationChangeDTO> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        DonationChangeCursor last = null;
+        int d = 0;
+        int t = 0;
+        while (changed.size() + deleted.size() < size && (d < donations.size() || t < tombstones.size())) {
+            DonationChangeCursor nextDonation = d < donations.size()
+                    ? new DonationChangeCursor(donations.get(d).getUpdatedAt(), donations.get(d).getId()) : null;
+            DonationChangeCursor nextTombstone = t < tombstones.size()
+                    ? new DonationChangeCursor(tombstones.get(t).getDeletedAt(), tombstones.get(t).getDonationId()) : null;
+            if (nextTombstone == null || (nextDonation != null && nextDonation.compareTo(nextTombstone) <= 0)) {
+                changed.add(donations.get(d++));
+                last = nextDonation;
+            } else {
+                deleted.add(tombstones.get(t++).getDonationId());
+                last = nextTombstone;
+            }
+        }
+        DonationChangeCursor settled = new DonationChangeCursor(now.minus(settleWindow), 0L);
+        // rows come in order, past an unsettled one everything left is unsettled too
+        boolean hasMore = (d < donations.size() || t < tombstones.size())
+                && last != null && last.compareTo(settled) <= 0;
+
+        DonationChangeCursor next = nextCursor(after, last, hasMore, settled);
+        return new DonationChangesDTO(changed, deleted, next.encode(), hasMore);
+    }
+
+    private DonationChangeCursor nextCursor(DonationChangeCursor after, DonationChangeCursor last, boolean hasMore,
+                                            DonationChangeCursor settled) {
+        // between pages the cursor follows the rows, which are all settled; the last page only
+        // keeps what is old enough to be final
+        DonationChangeCursor next = hasMore ? last : settled;
+        return after != null && next.compareTo(after) < 0 ? after : next;
+    }
+
+    /**
+     * Deletes tombstones older than the retention, clients with an older cursor get 410 Gone
+     * and reload everything.
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${donations.changes.tombstone-prune-interval-ms:86400000}")
+    public void pruneTombstones() {
+        int pruned = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+        if (pruned > 0) log.info("Pruned {} donation tombstones", pruned);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.exception.InvalidCursorException;
+import com.example.ZeroFoodWaste.model.enums.DonationSort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for donation listings: the sort key of the last row
+ * returned plus its id as tie-breaker. Clients only ever echo it back.
+ *
+ * @param sort the ordering the cursor was issued for
+ * @param key  value of the sort column on the last row
+ * @param id   id of the last row
+ */
+public record DonationCursor(DonationSort sort, LocalDateTime key, Long id) {
+
+    public String encode() {
+        String raw = sort.name() + "|" + key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor the encoded cursor received from the client
+     * @param sort   the ordering requested along with the cursor
+     * @return the decoded cursor
+     * @throws InvalidCursorException if the cursor is malformed or was issued for a different ordering
+     */
+    public static DonationCursor decode(String cursor, DonationSort sort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || DonationSort.valueOf(parts[0]) != sort) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new DonationCursor(sort, LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.event.DonationChangedEvent;
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed donation changes to Server-Sent Events subscribers.
+ * <p>
+ * Connections are async requests, an idle subscriber holds no thread. Each subscriber has a
+ * bounded buffer drained by a small shared pool of sender threads; when a slow client lets
+ * its buffer fill up the buffered events are dropped and it receives a {@value #RESYNC_EVENT}
+ * event telling it to reload its list instead.
+ * <p>
+ * A client that stops reading blocks its sender thread inside a write, and the emitter offers no
+ * way to abort it. Once a write has taken longer than the write timeout the subscriber is dropped
+ * and the pool gets a thread in place of the blocked one until the server's own socket timeout
+ * releases it, so the other subscribers keep receiving events.
+ */
+@Slf4j
+@Component
+public class DonationEventBroadcaster {
+
+    public static final String RESYNC_EVENT = "resync";
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadPoolExecutor senders;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final long writeTimeoutNanos;
+
+    public DonationEventBroadcaster(
+            @Value("${donations.stream.buffer-size:256}") int bufferSize,
+            @Value("${donations.stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${donations.stream.sender-threads:2}") int senderThreads,
+            @Value("${donations.stream.write-timeout-ms:10000}") long writeTimeoutMs
+    ) {
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "donation-sse-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Registers a new subscriber. Both filters are optional and combine with AND.
+     *
+     * @param status          only donations that had or now have this status
+     * @param establishmentId only donations of this establishment
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(DonationStatus status, Long establishmentId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscription subscription = new Subscription(emitter, status, establishmentId,
+                new ArrayBlockingQueue<>(bufferSize));
+        subscriptions.add(subscription);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(e -> subscriptions.remove(subscription));
+        // commits the response headers right away instead of on the first change
+        subscription.enqueue(Message.comment("subscribed"));
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @TransactionalEventListener
+    public void onDonationChanged(DonationChangedEvent event) {
+        if (subscriptions.isEmpty()) return;
+        Message message = new Message(Long.toString(sequence.incrementAndGet()),
+                event.type().name().toLowerCase(Locale.ROOT).replace('_', '-'), event.donation(), null);
+        for (Subscription subscription : subscriptions) {
+            if (subscription.accepts(event)) {
+                subscription.enqueue(message);
+            }
+        }
+    }
+
+    /**
+     * Comment lines keep proxies from closing idle streams and reveal dead clients.
+     */
+    @Scheduled(fixedDelayString = "${donations.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        Message ping = Message.comment("ping");
+        for (Subscription subscription : subscriptions) {
+            if (subscription.queue.isEmpty()) subscription.enqueue(ping);
+        }
+    }
+
+    /**
+     * Drops the subscribers whose current write has been blocked for longer than the write timeout.
+     */
+    @Scheduled(fixedDelayString = "${donations.stream.write-check-ms:1000}")
+    public void expireStalledWrites() {
+        long now = System.nanoTime();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.writingLongerThan(writeTimeoutNanos, now)) subscription.abandon();
+        }
+    }
+
+    /**
+     * Ends every stream before the web server's graceful shutdown starts waiting for active
+     * requests, an open stream would otherwise hold it until its timeout.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void completeAll() {
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        subscriptions.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    // grows the pool when delta is positive, the core size never exceeds the maximum in between
+    private synchronized void resizeSenders(int delta) {
+        int size = senders.getCorePoolSize() + delta;
+        if (delta > 0) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    /**
+     * What to send, shared by every subscriber. A {@link SseEmitter.SseEventBuilder} can't be:
+     * building it appends to it, so each send builds its own.
+     */
+    private record Message(String id, String name, Object data, String comment) {
+
+        private static Message comment(String comment) {
+            return new Message(null, null, null, comment);
+        }
+
+        private SseEmitter.SseEventBuilder toEvent() {
+            SseEmitter.SseEventBuilder event = SseEmitter.event();
+            if (comment != null) event.comment(comment);
+            if (id != null) event.id(id);
+            if (name != null) event.name(name);
+            if (data != null) event.data(data);
+            return event;
+        }
+    }
+
+    private final class Subscription {
+        private final SseEmitter emitter;
+        private final DonationStatus status;
+        private final Long establishmentId;
+        private final BlockingQueue<Message> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean abandoned = new AtomicBoolean();
+        private final AtomicBoolean holdsExtraSender = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private volatile boolean writing;
+        private volatile long writeStartedNanos;
+
+        private Subscription(SseEmitter emitter, DonationStatus status, Long establishmentId,
+                             BlockingQueue<Message> queue) {
+            this.emitter = emitter;
+            this.status = status;
+            this.establishmentId = establishmentId;
+            this.queue = queue;
+        }
+
+        private boolean accepts(DonationChangedEvent event) {
+            DonationResponseDTO donation = event.donation();
+            if (establishmentId != null && !establishmentId.equals(donation.getEstablishmentId())) return false;
+            // a donation leaving the watched status matters as much as one entering it
+            return status == null
+                    || status.name().equals(donation.getStatus())
+                    || status == event.previousStatus();
+        }
+
+        private void enqueue(Message message) {
+            if (!queue.offer(message)) {
+                overflowed = true;
+                queue.clear();
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    if (overflowed) {
+                        overflowed = false;
+                        send(new Message(null, RESYNC_EVENT, "", null));
+                    }
+                    Message message;
+                    while ((message = queue.poll()) != null) {
+                        send(message);
+                    }
+                    draining.set(false);
+                    // an enqueue between the last poll and the reset above found draining still set
+                } while ((!queue.isEmpty() || overflowed) && draining.compareAndSet(false, true));
+            } catch (IOException | RuntimeException e) {
+                // anything else would leave draining set and the subscriber registered but silent
+                log.debug("Dropping donation stream subscriber: {}", e.getMessage());
+                subscriptions.remove(this);
+                queue.clear();
+                emitter.completeWithError(e);
+            } finally {
+                if (holdsExtraSender.compareAndSet(true, false)) resizeSenders(-1);
+            }
+        }
+
+        private void send(Message message) throws IOException {
+            if (abandoned.get()) throw new IllegalStateException("write timed out");
+            writeStartedNanos = System.nanoTime();
+            writing = true;
+            try {
+                emitter.send(message.toEvent());
+            } finally {
+                writing = false;
+            }
+            // the write went through after all, but the subscriber has already missed events
+            if (abandoned.get()) throw new IllegalStateException("write timed out");
+        }
+
+        private boolean writingLongerThan(long timeoutNanos, long now) {
+            return writing && now - writeStartedNanos > timeoutNanos;
+        }
+
+        private void abandon() {
+            if (!abandoned.compareAndSet(false, true)) return;
+            log.debug("Dropping donation stream subscriber: write timed out");
+            subscriptions.remove(this);
+            queue.clear();
+            // the blocked thread is lost to the pool until its write fails, the others go on without it
+            resizeSenders(1);
+            holdsExtraSender.set(true);
+            // the write may have returned in the meantime, then drain() could have missed the flag
+            if (!writing && holdsExtraSender.compareAndSet(true, false)) resizeSenders(-1);
+        }
+    }
+}
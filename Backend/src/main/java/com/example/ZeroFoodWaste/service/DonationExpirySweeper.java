@@ -0,0 +1,143 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.event.DonationChangedEvent;
+import com.example.ZeroFoodWaste.model.dto.DonationDeadlineDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.enums.DonationChangeType;
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import com.example.ZeroFoodWaste.repository.DonationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Moves AVAILABLE donations to EXPIRED once their expiration date has passed.
+ * <p>
+ * Only the deadlines falling within the lookahead window are kept, in a queue ordered by
+ * expiration date. The window is loaded from idx_donations_status_expiration and moved
+ * forward as time passes; donations created or put back to AVAILABLE inside it are added
+ * from their {@link DonationChangedEvent}. A sweep with nothing due only peeks at the head
+ * of the queue, and due donations are expired in batches of one UPDATE each, so the cost
+ * follows the number of donations expiring and not the size of the table.
+ * <p>
+ * Entries are never removed when a donation is reserved or postponed; the UPDATE checks
+ * status and expiration date again and skips them.
+ */
+@Slf4j
+@Component
+public class DonationExpirySweeper {
+
+    private final DonationRepository donationRepository;
+    private final DonationService donationService;
+    private final Duration lookahead;
+    private final int batchSize;
+
+    private final ConcurrentSkipListSet<Deadline> deadlines = new ConcurrentSkipListSet<>();
+    // deadlines before this instant are all in the queue, later ones are loaded when it moves
+    private volatile LocalDateTime loadedUntil = LocalDateTime.MIN;
+
+    public DonationExpirySweeper(
+            DonationRepository donationRepository,
+            DonationService donationService,
+            @Value("${donations.expiry.lookahead-ms:3600000}") long lookaheadMs,
+            @Value("${donations.expiry.batch-size:500}") int batchSize
+    ) {
+        this.donationRepository = donationRepository;
+        this.donationService = donationService;
+        this.lookahead = Duration.ofMillis(lookaheadMs);
+        this.batchSize = batchSize;
+    }
+
+    public int pending() {
+        return deadlines.size();
+    }
+
+    /**
+     * Expires every donation whose deadline has passed, loading the next window first when
+     * the current one is half consumed.
+     *
+     * @return number of donations expired
+     */
+    @Scheduled(initialDelayString = "${donations.expiry.sweep-interval-ms:30000}",
+            fixedDelayString = "${donations.expiry.sweep-interval-ms:30000}")
+    public synchronized int sweep() {
+        // the column keeps microseconds, findDTOExpiredAt compares against the stored value
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (now.plus(lookahead.dividedBy(2)).isAfter(loadedUntil)) {
+            loadWindow(now.plus(lookahead));
+        }
+
+        int expired = 0;
+        List<Long> batch = new ArrayList<>(Math.min(batchSize, 64));
+        Deadline head;
+        while ((head = deadlines.pollFirst()) != null) {
+            if (head.expirationDate().isAfter(now)) {
+                deadlines.add(head);
+                break;
+            }
+            batch.add(head.id());
+            if (batch.size() == batchSize) {
+                expired += donationService.expireDonations(batch, now).size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            expired += donationService.expireDonations(batch, now).size();
+        }
+        if (expired > 0) log.info("Expired {} donations", expired);
+        return expired;
+    }
+
+    /**
+     * Drops the queue and loads it again from the table, the first sweep after startup
+     * catches up with everything that expired while the application was down.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        deadlines.clear();
+        loadedUntil = LocalDateTime.MIN;
+        loadWindow(LocalDateTime.now().plus(lookahead));
+    }
+
+    @TransactionalEventListener
+    public void onDonationChanged(DonationChangedEvent event) {
+        DonationResponseDTO donation = event.donation();
+        if (event.type() == DonationChangeType.DELETED
+                || !DonationStatus.AVAILABLE.name().equals(donation.getStatus())) {
+            return;
+        }
+        if (donation.getExpirationDate().isBefore(loadedUntil)) {
+            deadlines.add(new Deadline(donation.getExpirationDate(), donation.getId()));
+        }
+    }
+
+    private void loadWindow(LocalDateTime until) {
+        // moved first: a commit racing with the query below is caught by onDonationChanged
+        loadedUntil = until;
+        for (DonationDeadlineDTO deadline : donationRepository.findDeadlinesBefore(DonationStatus.AVAILABLE, until)) {
+            deadlines.add(new Deadline(deadline.getExpirationDate(), deadline.getId()));
+        }
+    }
+
+    private record Deadline(LocalDateTime expirationDate, Long id) implements Comparable<Deadline> {
+        private static final Comparator<Deadline> ORDER = Comparator.comparing(Deadline::expirationDate)
+                .thenComparing(Deadline::id);
+
+        @Override
+        public int compareTo(Deadline other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
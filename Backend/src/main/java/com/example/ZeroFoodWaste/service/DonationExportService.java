@@ -0,0 +1,103 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.model.dto.DonationExportFilterDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationExportRowDTO;
+import com.example.ZeroFoodWaste.repository.DonationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the donation history, joined with assignments, as NDJSON or CSV while it is read
+ * from {@link DonationRepository#streamHistory}. Each row is written and dropped before the
+ * next one is fetched, so heap use does not depend on the size of the export.
+ */
+@Slf4j
+@Service
+public class DonationExportService {
+
+    private static final String[] CSV_HEADER = {"id", "establishmentId", "establishment", "productName",
+            "description", "quantity", "unit", "expirationDate", "status", "createdAt", "updatedAt",
+            "foodBankId", "foodBank", "acceptedAt", "pickedUpAt"};
+
+    private final DonationRepository donationRepository;
+    private final ObjectWriter rowWriter;
+    private final int fetchSize;
+
+    public DonationExportService(
+            DonationRepository donationRepository,
+            JsonMapper jsonMapper,
+            @Value("${donations.export.fetch-size:1000}") int fetchSize
+    ) {
+        this.donationRepository = donationRepository;
+        this.rowWriter = jsonMapper.writerFor(DonationExportRowDTO.class);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * @param filter creation date range and statuses
+     * @param output receives one JSON object per line, UTF-8; not closed
+     * @return number of rows written
+     */
+    public long exportNdjson(DonationExportFilterDTO filter, OutputStream output) {
+        return export(filter, output, writer -> row -> {
+            writer.write(rowWriter.writeValueAsString(row));
+            writer.write('\n');
+        });
+    }
+
+    /**
+     * @param filter creation date range and statuses
+     * @param output receives a header line then one record per donation, UTF-8; not closed
+     * @return number of rows written
+     */
+    public long exportCsv(DonationExportFilterDTO filter, OutputStream output) {
+        return export(filter, output, writer -> {
+            CsvRecordWriter csv = new CsvRecordWriter(writer);
+            csv.write((Object[]) CSV_HEADER);
+            return row -> csv.write(row.getId(), row.getEstablishmentId(), row.getEstablishment(),
+                    row.getProductName(), row.getDescription(), row.getQuantity(), row.getUnit(),
+                    row.getExpirationDate(), row.getStatus(), row.getCreatedAt(), row.getUpdatedAt(),
+                    row.getFoodBankId(), row.getFoodBank(), row.getAcceptedAt(), row.getPickedUpAt());
+        });
+    }
+
+    private long export(DonationExportFilterDTO filter, OutputStream output, RowFormat format) {
+        long begin = System.currentTimeMillis();
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            RowSink sink = format.open(writer);
+            long rows = donationRepository.streamHistory(filter, fetchSize, row -> {
+                try {
+                    sink.write(row);
+                } catch (IOException e) {
+                    // usually the client went away, this ends the scroll and releases the cursor
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            log.info("Exported {} donations in {} ms", rows, System.currentTimeMillis() - begin);
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface RowFormat {
+        RowSink open(Writer writer) throws IOException;
+    }
+
+    private interface RowSink {
+        void write(DonationExportRowDTO row) throws IOException;
+    }
+}
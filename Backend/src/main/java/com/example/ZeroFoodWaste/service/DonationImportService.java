@@ -0,0 +1,253 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.model.dto.DonationImportResultDTO;
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.model.dto.RowErrorDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Imports surplus files exported by establishments, CSV with a header row or NDJSON with
+ * one {@link NewDonationDTO} per line.
+ * <p>
+ * The upload is read as a stream and parsed row by row; rows are handed to
+ * {@link DonationService#createValidDonations} in chunks, each committed on its own, so memory
+ * use depends on the chunk size and not on the file size. Bad rows, whether they cannot be
+ * parsed or fail validation, are skipped and listed in the result. A CSV record or NDJSON line
+ * longer than the configured maximum is rejected without being held in memory. A failure half
+ * way through keeps the chunks already committed.
+ */
+@Slf4j
+@Service
+public class DonationImportService {
+
+    private static final String[] CSV_COLUMNS =
+            {"establishmentid", "productname", "description", "quantity", "unit", "expirationdate", "status"};
+
+    private final DonationService donationService;
+    private final ObjectReader ndjsonReader;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final int maxRecordLength;
+
+    public DonationImportService(
+            DonationService donationService,
+            JsonMapper jsonMapper,
+            @Value("${donations.import.chunk-size:500}") int chunkSize,
+            @Value("${donations.import.max-reported-errors:1000}") int maxReportedErrors,
+            @Value("${donations.import.max-record-length:65536}") int maxRecordLength
+    ) {
+        this.donationService = donationService;
+        this.ndjsonReader = jsonMapper.readerFor(NewDonationDTO.class);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * @param input           CSV in UTF-8; the header names the columns, in any order and case:
+     *                        establishmentId, productName, description, quantity, unit,
+     *                        expirationDate (ISO date-time, or ISO date for the end of that day), status
+     * @param establishmentId used for rows without an establishmentId, may be null
+     * @return counts and the rejected rows
+     */
+    public DonationImportResultDTO importCsv(InputStream input, Long establishmentId) {
+        Run run = new Run(establishmentId);
+        try {
+            CsvRecordReader csv = new CsvRecordReader(reader(input), maxRecordLength);
+            List<String> header = csv.next();
+            if (header == null) return run.finish();
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+
+            List<String> fields;
+            while ((fields = readCsv(csv, run)) != null) {
+                long row = csv.recordLine();
+                try {
+                    run.add(row, fromCsv(fields, columns));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    run.reject(row, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return run.finish();
+    }
+
+    /**
+     * @param input           NDJSON in UTF-8, one {@link NewDonationDTO} object per line
+     * @param establishmentId used for rows without an establishmentId, may be null
+     * @return counts and the rejected rows
+     */
+    public DonationImportResultDTO importNdjson(InputStream input, Long establishmentId) {
+        Run run = new Run(establishmentId);
+        try (BufferedReader lines = reader(input)) {
+            StringBuilder line = new StringBuilder();
+            int length;
+            long row = 0;
+            while ((length = readLine(lines, line)) != -1) {
+                row++;
+                if (length > maxRecordLength) {
+                    run.reject(row, "line longer than " + maxRecordLength + " characters");
+                    continue;
+                }
+                String json = line.toString();
+                if (json.isBlank()) continue;
+                try {
+                    run.add(row, ndjsonReader.readValue(json));
+                } catch (JacksonException e) {
+                    run.reject(row, "invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return run.finish();
+    }
+
+    private List<String> readCsv(CsvRecordReader csv, Run run) throws IOException {
+        while (true) {
+            try {
+                return csv.next();
+            } catch (CsvRecordReader.RecordTooLongException e) {
+                run.reject(csv.recordLine(), e.getMessage());
+            } catch (IllegalArgumentException e) {
+                // an unterminated quote swallows the rest of the file, nothing after it can be trusted
+                run.reject(csv.recordLine(), e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Reads the next line like {@link BufferedReader#readLine()} but keeps no more than
+     * maxRecordLength + 1 of its characters in line.
+     *
+     * @return the full length of the line, capped at maxRecordLength + 1, or -1 at the end of the input
+     */
+    private int readLine(BufferedReader lines, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int c = lines.read();
+        if (c == -1) return -1;
+        int length = 0;
+        while (c != -1 && c != '\n' && c != '\r') {
+            if (length <= maxRecordLength) {
+                line.append((char) c);
+                length++;
+            }
+            c = lines.read();
+        }
+        if (c == '\r') {
+            lines.mark(1);
+            if (lines.read() != '\n') lines.reset();
+        }
+        return length;
+    }
+
+    private NewDonationDTO fromCsv(List<String> fields, Map<String, Integer> columns) {
+        NewDonationDTO dto = new NewDonationDTO();
+        String establishmentId = field(fields, columns, CSV_COLUMNS[0]);
+        String quantity = field(fields, columns, CSV_COLUMNS[3]);
+        String expirationDate = field(fields, columns, CSV_COLUMNS[5]);
+        try {
+            dto.setEstablishmentId(establishmentId == null ? null : Long.valueOf(establishmentId));
+            dto.setQuantity(quantity == null ? null : Integer.valueOf(quantity));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid number: " + e.getMessage());
+        }
+        dto.setProductName(field(fields, columns, CSV_COLUMNS[1]));
+        dto.setDescription(field(fields, columns, CSV_COLUMNS[2]));
+        dto.setUnit(field(fields, columns, CSV_COLUMNS[4]));
+        dto.setExpirationDate(expirationDate == null ? null : parseDateTime(expirationDate));
+        dto.setStatus(field(fields, columns, CSV_COLUMNS[6]));
+        return dto;
+    }
+
+    private String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) return null;
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private LocalDateTime parseDateTime(String value) {
+        if (value.length() == 10) return LocalDate.parse(value).atTime(23, 59, 59);
+        return LocalDateTime.parse(value);
+    }
+
+    private BufferedReader reader(InputStream input) {
+        return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * State of one import: the pending chunk, the counters and the first errors.
+     */
+    private final class Run {
+        private final Long defaultEstablishmentId;
+        private final Map<Long, NewDonationDTO> chunk = new LinkedHashMap<>();
+        private final List<RowErrorDTO> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long rejected;
+
+        private Run(Long defaultEstablishmentId) {
+            this.defaultEstablishmentId = defaultEstablishmentId;
+        }
+
+        private void add(long row, NewDonationDTO dto) {
+            rows++;
+            if (dto.getEstablishmentId() == null) dto.setEstablishmentId(defaultEstablishmentId);
+            chunk.put(row, dto);
+            if (chunk.size() == chunkSize) flush();
+        }
+
+        private void reject(long row, String message) {
+            rows++;
+            error(new RowErrorDTO(row, message));
+        }
+
+        private void error(RowErrorDTO error) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) errors.add(error);
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) return;
+            List<RowErrorDTO> chunkErrors = donationService.createValidDonations(chunk);
+            imported += chunk.size() - chunkErrors.size();
+            chunkErrors.forEach(this::error);
+            chunk.clear();
+        }
+
+        private DonationImportResultDTO finish() {
+            flush();
+            // rows are reported in file order even though parse errors are found before validation errors
+            errors.sort((a, b) -> Long.compare(a.getRow(), b.getRow()));
+            log.info("Donation import: {} rows, {} imported, {} rejected", rows, imported, rejected);
+            return new DonationImportResultDTO(rows, imported, rejected, errors, rejected > errors.size());
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.MatchingPlanDTO;
+import com.example.ZeroFoodWaste.model.dto.ProposedAssignmentDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Proposes a food bank for each AVAILABLE donation of a batch.
+ * <p>
+ * A donation can go to any food bank within {@code matching.max-distance-km}. The score of a
+ * pair is a weighted sum of four terms, each between 0 and 1:
+ * <ul>
+ *     <li>distance: 1 next to the establishment, 0 at the maximum distance</li>
+ *     <li>urgency: 1 when the donation expires now, 1/2 a day before, 1/3 two days before...</li>
+ *     <li>fit: how much of the bank's recent intake is in the donation's unit, and how close
+ *     its usual quantity is to the donation's; 1/2 for a bank without history</li>
+ *     <li>fairness: 1 for a bank with no donation yet in this batch, 1/2 once it has its even
+ *     share, and so on; no bank gets more than {@code matching.max-per-bank}</li>
+ * </ul>
+ * Scoring is the expensive part and runs on {@code matching.parallelism} threads, each taking
+ * the next chunk of donations in expiration order. The best {@value #CANDIDATES} banks of
+ * every donation are then assigned greedily, again in expiration order, so when banks fill up
+ * it is the donations expiring last that are left out. Chunks not started when
+ * {@code matching.time-budget-ms} runs out are skipped and the plan is marked incomplete.
+ */
+@Component
+public class DonationMatcher implements AutoCloseable {
+
+    // banks kept per donation for the assignment phase
+    static final int CANDIDATES = 8;
+    // donations scored per task, the time budget is checked between chunks
+    private static final int CHUNK_SIZE = 1024;
+
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final Duration timeBudget;
+    private final double maxDistanceKm;
+    private final int maxPerBank;
+    private final double distanceWeight;
+    private final double urgencyWeight;
+    private final double fitWeight;
+    private final double fairnessWeight;
+
+    public DonationMatcher(
+            @Value("${matching.parallelism:0}") int parallelism,
+            @Value("${matching.time-budget-ms:2000}") long timeBudgetMs,
+            @Value("${matching.max-distance-km:25}") double maxDistanceKm,
+            @Value("${matching.max-per-bank:200}") int maxPerBank,
+            @Value("${matching.weights.distance:0.4}") double distanceWeight,
+            @Value("${matching.weights.urgency:0.3}") double urgencyWeight,
+            @Value("${matching.weights.fit:0.2}") double fitWeight,
+            @Value("${matching.weights.fairness:0.1}") double fairnessWeight
+    ) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "donation-matching-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timeBudget = Duration.ofMillis(timeBudgetMs);
+        this.maxDistanceKm = maxDistanceKm;
+        this.maxPerBank = maxPerBank;
+        this.distanceWeight = distanceWeight;
+        this.urgencyWeight = urgencyWeight;
+        this.fitWeight = fitWeight;
+        this.fairnessWeight = fairnessWeight;
+    }
+
+    /**
+     * @param donations AVAILABLE donations, those without coordinates are ignored
+     * @param banks     food banks that can receive them
+     * @param now       reference time for the urgency of each donation
+     * @return one proposal per matched donation, most urgent first
+     */
+    public MatchingPlanDTO solve(List<DonationResponseDTO> donations, List<MatchingBank> banks, LocalDateTime now) {
+        long begin = System.nanoTime();
+        long deadline = begin + timeBudget.toNanos();
+        Batch batch = new Batch(donations, banks);
+
+        int scored = batch.score(deadline);
+        List<ProposedAssignmentDTO> assignments = new ArrayList<>();
+        boolean assignedAll = batch.assign(scored, now, deadline, assignments);
+        boolean complete = assignedAll && scored == batch.donations.size();
+
+        long solveMillis = Duration.ofNanos(System.nanoTime() - begin).toMillis();
+        return new MatchingPlanDTO(now, solveMillis, batch.donations.size(), banks.size(), assignments.size(),
+                complete, assignments);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * One run of the matcher. Candidates are kept in flat arrays, {@value #CANDIDATES} slots per
+     * donation, so scoring allocates nothing per pair.
+     */
+    private final class Batch {
+        private final List<DonationResponseDTO> donations;
+        private final MatchingBank[] banks;
+        private final double[] bankLatitudes;
+        private final double[] bankLongitudes;
+        private final int[] candidateBanks;
+        private final double[] candidateScores;
+        private final double[] candidateDistances;
+
+        private Batch(List<DonationResponseDTO> donations, List<MatchingBank> banks) {
+            this.donations = donations.stream()
+                    .filter(donation -> GeoPoint.ofNullable(donation.getLatitude(), donation.getLongitude()) != null)
+                    .sorted(Comparator.comparing(DonationResponseDTO::getExpirationDate)
+                            .thenComparing(DonationResponseDTO::getId))
+                    .toList();
+            // sorted by latitude, the banks near a donation are found by binary search
+            this.banks = banks.stream()
+                    .sorted(Comparator.comparingDouble(bank -> bank.location().latitude()))
+                    .toArray(MatchingBank[]::new);
+            this.bankLatitudes = Arrays.stream(this.banks).mapToDouble(bank -> bank.location().latitude()).toArray();
+            this.bankLongitudes = Arrays.stream(this.banks).mapToDouble(bank -> bank.location().longitude()).toArray();
+            int slots = this.donations.size() * CANDIDATES;
+            this.candidateBanks = new int[slots];
+            this.candidateScores = new double[slots];
+            this.candidateDistances = new double[slots];
+            Arrays.fill(candidateBanks, -1);
+        }
+
+        /**
+         * @return number of donations scored, always the first ones in expiration order
+         */
+        private int score(long deadline) {
+            int chunks = (donations.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            AtomicInteger nextChunk = new AtomicInteger();
+            Callable<Void> worker = () -> {
+                int chunk;
+                while (System.nanoTime() < deadline && (chunk = nextChunk.getAndIncrement()) < chunks) {
+                    int end = Math.min(donations.size(), (chunk + 1) * CHUNK_SIZE);
+                    for (int i = chunk * CHUNK_SIZE; i < end; i++) scoreDonation(i);
+                }
+                return null;
+            };
+            try {
+                for (Future<Void> result : executor.invokeAll(Collections.nCopies(Math.min(parallelism, chunks), worker))) {
+                    result.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Donation matching interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+                throw new IllegalStateException(e.getCause());
+            }
+            // every chunk handed out has been finished by invokeAll
+            return Math.min(donations.size(), Math.min(nextChunk.get(), chunks) * CHUNK_SIZE);
+        }
+
+        private void scoreDonation(int index) {
+            DonationResponseDTO donation = donations.get(index);
+            double latitude = donation.getLatitude();
+            double longitude = donation.getLongitude();
+            // within a few dozen km a flat projection is as good as the haversine to 0.1% and far cheaper
+            double cosLatitude = Math.cos(Math.toRadians(latitude));
+            double latitudeSpan = maxDistanceKm / GeoPoint.KM_PER_DEGREE;
+            int first = CANDIDATES * index;
+            for (int b = lowerBound(latitude - latitudeSpan);
+                 b < banks.length && bankLatitudes[b] <= latitude + latitudeSpan; b++) {
+                double dLongitude = bankLongitudes[b] - longitude;
+                if (dLongitude > 180) dLongitude -= 360;
+                else if (dLongitude < -180) dLongitude += 360;
+                double dx = dLongitude * cosLatitude;
+                double dy = bankLatitudes[b] - latitude;
+                double distanceKm = GeoPoint.KM_PER_DEGREE * Math.sqrt(dx * dx + dy * dy);
+                if (distanceKm > maxDistanceKm) continue;
+                double score = distanceWeight * (1 - distanceKm / maxDistanceKm);
+                int slot = first + CANDIDATES - 1;
+                // a full fit would not beat the worst candidate kept: no need to look the unit up
+                if (candidateBanks[slot] >= 0 && candidateScores[slot] >= score + fitWeight) continue;
+                score += fitWeight * fit(donation, banks[b]);
+                if (candidateBanks[slot] >= 0 && candidateScores[slot] >= score) continue;
+
+                // insertion into the slots of this donation, best first
+                while (slot > first && (candidateBanks[slot - 1] < 0 || candidateScores[slot - 1] < score)) {
+                    candidateBanks[slot] = candidateBanks[slot - 1];
+                    candidateScores[slot] = candidateScores[slot - 1];
+                    candidateDistances[slot] = candidateDistances[slot - 1];
+                    slot--;
+                }
+                candidateBanks[slot] = b;
+                candidateScores[slot] = score;
+                candidateDistances[slot] = distanceKm;
+            }
+        }
+
+        /**
+         * @return false if the deadline passed before every scored donation was considered
+         */
+        private boolean assign(int scored, LocalDateTime now, long deadline, List<ProposedAssignmentDTO> assignments) {
+            int[] load = new int[banks.length];
+            double evenShare = Math.max(1.0, (double) scored / Math.max(1, banks.length));
+            for (int i = 0; i < scored; i++) {
+                if ((i & (CHUNK_SIZE - 1)) == 0 && System.nanoTime() > deadline) return false;
+                int best = -1;
+                double bestScore = Double.NEGATIVE_INFINITY;
+                for (int slot = CANDIDATES * i; slot < CANDIDATES * (i + 1) && candidateBanks[slot] >= 0; slot++) {
+                    int bank = candidateBanks[slot];
+                    if (load[bank] >= maxPerBank) continue;
+                    double score = candidateScores[slot] + fairnessWeight / (1 + load[bank] / evenShare);
+                    if (score > bestScore) {
+                        best = slot;
+                        bestScore = score;
+                    }
+                }
+                if (best < 0) continue;
+
+                DonationResponseDTO donation = donations.get(i);
+                load[candidateBanks[best]]++;
+                assignments.add(new ProposedAssignmentDTO(donation.getId(), banks[candidateBanks[best]].id(),
+                        candidateDistances[best], bestScore + urgencyWeight * urgency(donation, now)));
+            }
+            return true;
+        }
+
+        private int lowerBound(double latitude) {
+            int index = Arrays.binarySearch(bankLatitudes, latitude);
+            if (index < 0) return -index - 1;
+            // binarySearch may land on any of several banks at the same latitude
+            while (index > 0 && bankLatitudes[index - 1] == latitude) index--;
+            return index;
+        }
+    }
+
+    private static double fit(DonationResponseDTO donation, MatchingBank bank) {
+        if (bank.units().isEmpty()) return 0.5;
+        MatchingBank.UnitHistory history = bank.units().get(donation.getUnit());
+        if (history == null) return 0;
+        double quantity = donation.getQuantity() == null ? 0 : donation.getQuantity();
+        double usual = history.averageQuantity();
+        double quantityFit = quantity <= 0 || usual <= 0 ? 0 : Math.min(quantity, usual) / Math.max(quantity, usual);
+        return (history.share() + quantityFit) / 2;
+    }
+
+    private static double urgency(DonationResponseDTO donation, LocalDateTime now) {
+        double hoursLeft = Math.max(0, Duration.between(now, donation.getExpirationDate()).toMinutes() / 60.0);
+        return 1 / (1 + hoursLeft / 24);
+    }
+}
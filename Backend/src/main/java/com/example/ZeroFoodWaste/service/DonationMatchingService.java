@@ -0,0 +1,126 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.FoodBankLocationDTO;
+import com.example.ZeroFoodWaste.model.dto.FoodBankUnitHistoryDTO;
+import com.example.ZeroFoodWaste.model.dto.MatchingPlanDTO;
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import com.example.ZeroFoodWaste.repository.DonationAssignmentRepository;
+import com.example.ZeroFoodWaste.repository.DonationRepository;
+import com.example.ZeroFoodWaste.repository.FoodBankRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Runs {@link DonationMatcher} every {@code matching.interval-ms} over the AVAILABLE donations
+ * and the located food banks, and keeps the last plan for the food banks to read. Proposals
+ * are not reservations: a food bank still accepts the donations it wants through the usual
+ * endpoints, and a donation reserved in the meantime simply fails with a conflict.
+ * <p>
+ * Each run reads the food banks and their accepted donations of the last
+ * {@code matching.history-days} days in two queries; the donations come from
+ * {@link AvailableDonationIndex} once it is loaded. Solve times are published as the
+ * {@code donations.matching} timer.
+ */
+@Slf4j
+@Service
+public class DonationMatchingService {
+
+    private final DonationMatcher donationMatcher;
+    private final AvailableDonationIndex availableDonationIndex;
+    private final DonationRepository donationRepository;
+    private final FoodBankRepository foodBankRepository;
+    private final DonationAssignmentRepository assignmentRepository;
+    private final Duration history;
+    private final Timer solveTimer;
+
+    private volatile MatchingPlanDTO latest;
+
+    public DonationMatchingService(
+            DonationMatcher donationMatcher,
+            AvailableDonationIndex availableDonationIndex,
+            DonationRepository donationRepository,
+            FoodBankRepository foodBankRepository,
+            DonationAssignmentRepository assignmentRepository,
+            MeterRegistry registry,
+            @Value("${matching.history-days:90}") long historyDays
+    ) {
+        this.donationMatcher = donationMatcher;
+        this.availableDonationIndex = availableDonationIndex;
+        this.donationRepository = donationRepository;
+        this.foodBankRepository = foodBankRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.history = Duration.ofDays(historyDays);
+        this.solveTimer = Timer.builder("donations.matching")
+                .description("Time to compute a batch of proposed donation assignments")
+                .register(registry);
+    }
+
+    /**
+     * Computes a new plan from the current donations and food banks and keeps it as the latest.
+     *
+     * @return the new plan
+     */
+    @Scheduled(initialDelayString = "${matching.interval-ms:600000}",
+            fixedDelayString = "${matching.interval-ms:600000}")
+    public synchronized MatchingPlanDTO run() {
+        LocalDateTime now = LocalDateTime.now();
+        List<DonationResponseDTO> donations = availableDonationIndex.isReady()
+                ? availableDonationIndex.all()
+                : donationRepository.findDTOByStatus(DonationStatus.AVAILABLE);
+        List<MatchingBank> banks = loadBanks(now);
+
+        MatchingPlanDTO plan = solveTimer.record(() -> donationMatcher.solve(donations, banks, now));
+        latest = plan;
+        log.info("Matching proposed {} of {} donations to {} food banks in {} ms{}", plan.getMatched(),
+                plan.getDonations(), plan.getFoodBanks(), plan.getSolveMillis(),
+                plan.isComplete() ? "" : ", stopped by the time budget");
+        return plan;
+    }
+
+    /**
+     * @param foodBankId optional, keeps only the proposals for that food bank
+     * @return the last plan, computed now if there is none yet
+     */
+    public MatchingPlanDTO getLatestPlan(Long foodBankId) {
+        MatchingPlanDTO plan = latest;
+        if (plan == null) plan = run();
+        if (foodBankId == null) return plan;
+
+        return new MatchingPlanDTO(plan.getComputedAt(), plan.getSolveMillis(),
+                plan.getDonations(), plan.getFoodBanks(), plan.getMatched(), plan.isComplete(),
+                plan.getAssignments().stream().filter(a -> foodBankId.equals(a.getFoodBankId())).toList());
+    }
+
+    private List<MatchingBank> loadBanks(LocalDateTime now) {
+        Map<Long, List<FoodBankUnitHistoryDTO>> historyByBank = assignmentRepository
+                .findUnitHistorySince(now.minus(history)).stream()
+                .collect(Collectors.groupingBy(FoodBankUnitHistoryDTO::getFoodBankId));
+
+        List<MatchingBank> banks = new ArrayList<>();
+        for (FoodBankLocationDTO location : foodBankRepository.findLocations()) {
+            List<FoodBankUnitHistoryDTO> rows = historyByBank.getOrDefault(location.getId(), List.of());
+            long total = rows.stream().mapToLong(FoodBankUnitHistoryDTO::getDonations).sum();
+            Map<String, MatchingBank.UnitHistory> units = new HashMap<>();
+            for (FoodBankUnitHistoryDTO row : rows) {
+                units.put(row.getUnit(), new MatchingBank.UnitHistory((double) row.getDonations() / total,
+                        row.getAverageQuantity() == null ? 0 : row.getAverageQuantity()));
+            }
+            banks.add(new MatchingBank(location.getId(), new GeoPoint(location.getLatitude(), location.getLongitude()),
+                    units));
+        }
+        return banks;
+    }
+}
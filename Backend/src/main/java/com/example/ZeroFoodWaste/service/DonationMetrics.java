@@ -0,0 +1,67 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.event.DonationChangedEvent;
+import com.example.ZeroFoodWaste.model.enums.DonationChangeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Business metrics of {@link DonationService}, published with the rest of the actuator
+ * metrics (GET /actuator/prometheus):
+ * <ul>
+ *     <li>{@code donations.changes{type}}: committed changes by {@link DonationChangeType},
+ *     created, reserved (accepted), cancelled, picked_up, updated, expired, deleted</li>
+ *     <li>{@code donations.reservation.conflicts}: reservations refused because the donation
+ *     was no longer AVAILABLE</li>
+ *     <li>{@code donations.reservation.retries}: reservations retried after a transient
+ *     database failure</li>
+ *     <li>{@code donations.available}: AVAILABLE backlog, read from {@link AvailableDonationIndex}
+ *     without a query; NaN until the index is loaded</li>
+ * </ul>
+ */
+@Component
+public class DonationMetrics {
+
+    private final Map<DonationChangeType, Counter> changes = new EnumMap<>(DonationChangeType.class);
+    private final Counter reservationConflicts;
+    private final Counter reservationRetries;
+
+    public DonationMetrics(MeterRegistry registry, AvailableDonationIndex availableDonationIndex) {
+        for (DonationChangeType type : DonationChangeType.values()) {
+            changes.put(type, Counter.builder("donations.changes")
+                    .description("Committed donation changes")
+                    .tag("type", type.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+        reservationConflicts = Counter.builder("donations.reservation.conflicts")
+                .description("Reservations refused because the donation was no longer available")
+                .register(registry);
+        reservationRetries = Counter.builder("donations.reservation.retries")
+                .description("Reservations retried after a transient database failure")
+                .register(registry);
+        Gauge.builder("donations.available", availableDonationIndex,
+                        index -> index.isReady() ? index.size() : Double.NaN)
+                .description("Donations waiting to be reserved")
+                .register(registry);
+    }
+
+    @TransactionalEventListener
+    public void onDonationChanged(DonationChangedEvent event) {
+        changes.get(event.type()).increment();
+    }
+
+    public void reservationConflict(int count) {
+        reservationConflicts.increment(count);
+    }
+
+    public void reservationRetry() {
+        reservationRetries.increment();
+    }
+}
@@ -1,41 +1,83 @@
 //region imports
 package com.example.ZeroFoodWaste.service;
 
+import com.example.ZeroFoodWaste.event.DonationChangedEvent;
 import com.example.ZeroFoodWaste.exception.AssignmentNotFoundException;
+import com.example.ZeroFoodWaste.exception.BatchTooLargeException;
 import com.example.ZeroFoodWaste.exception.DonationAlreadyReserved;
 import com.example.ZeroFoodWaste.exception.DonationNotFoundException;
 import com.example.ZeroFoodWaste.exception.FoodBankNotFoundException;
+import com.example.ZeroFoodWaste.exception.InvalidCoordinatesException;
+import com.example.ZeroFoodWaste.exception.InvalidRowsException;
+import com.example.ZeroFoodWaste.model.dto.DonationBulkResultDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationPageDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationReservationResultDTO;
 import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.NearbyDonationDTO;
 import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.model.dto.RowErrorDTO;
 import com.example.ZeroFoodWaste.model.entity.Donation;
 import com.example.ZeroFoodWaste.model.entity.DonationAssignment;
+import com.example.ZeroFoodWaste.model.entity.DonationTombstone;
+import com.example.ZeroFoodWaste.model.entity.Establishment;
 import com.example.ZeroFoodWaste.model.entity.FoodBank;
+import com.example.ZeroFoodWaste.model.enums.DonationChangeType;
+import com.example.ZeroFoodWaste.model.enums.DonationSort;
 import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import com.example.ZeroFoodWaste.model.enums.ReservationResult;
 import com.example.ZeroFoodWaste.model.mapper.DonationResponseMapper;
 import com.example.ZeroFoodWaste.model.mapper.NewDonationMapper;
 import com.example.ZeroFoodWaste.repository.DonationAssignmentRepository;
 import com.example.ZeroFoodWaste.repository.DonationRepository;
+import com.example.ZeroFoodWaste.repository.DonationTombstoneRepository;
 import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
 import com.example.ZeroFoodWaste.repository.FoodBankRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Supplier;
 //endregion
-import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DonationService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final double DEFAULT_NEARBY_RADIUS_KM = 5;
+    public static final double MAX_NEARBY_RADIUS_KM = 50;
+    public static final int MAX_RESERVE_ATTEMPTS = 3;
+    public static final int MAX_BULK_SIZE = 5000;
+    public static final int MAX_RESERVE_BATCH = 200;
+    // matches hibernate.jdbc.batch_size and the donations_seq allocation size
+    public static final int BULK_CHUNK_SIZE = 50;
+
     //region repositories
     private final DonationRepository donationRepository;
     private final EstablishmentRepository establishmentRepository;
     private final FoodBankRepository foodBankRepository;
     private final DonationAssignmentRepository assignmentRepository;
+    private final DonationTombstoneRepository tombstoneRepository;
     //endregion
 
     //region mappers
@@ -43,41 +85,135 @@ public class DonationService {
     private final DonationResponseMapper donationResponseMapper;
     //endregion
 
+    private final AvailableDonationIndex availableDonationIndex;
+    private final DonationMetrics donationMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
     //region get
 
     /**
-     * Obtains the list of donations with a specific status
+     * Obtains one page of donations with a specific status using keyset pagination,
+     * so every page costs the same regardless of its position in the table.
+     * AVAILABLE donations sorted by expiration date are served from {@link AvailableDonationIndex}.
+     *
+     * @param statusStr       determines the status we search for, transforms into {@link DonationStatus}
+     * @param sortStr         ordering of the listing, transforms into {@link DonationSort}
+     * @param cursor          the nextCursor of the previous page, null for the first page
+     * @param limit           page size, defaults to {@value #DEFAULT_PAGE_SIZE} and is capped at {@value #MAX_PAGE_SIZE}
+     * @param establishmentId optional filter by the establishment that created the donations
+     * @param unit            optional filter by unit
+     * @return DonationPageDTO with the page items and the cursor of the next page
+     * @throws com.example.ZeroFoodWaste.exception.InvalidCursorException if the cursor is malformed
+     * @throws com.example.ZeroFoodWaste.exception.InvalidSortException if the sort is unknown
+     */
+    public DonationPageDTO getDonationPage(String statusStr, String sortStr, String cursor, Integer limit,
+                                           Long establishmentId, String unit) {
+        DonationSort sort = DonationSort.from(sortStr);
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        DonationCursor after = cursor == null || cursor.isBlank() ? null : DonationCursor.decode(cursor, sort);
+        return page(statusStr, sort, after, size, establishmentId, unit);
+    }
+
+    /**
+     * Obtains every donation with a specific status in the same order and with the same filters
+     * as {@link #getDonationPage}, all in one list. This is the unpaged listing GET /donations
+     * answers when neither a limit nor a cursor is sent.
      *
-     * @param statusStr determines the status we search for
-     *                  transforms into {@link DonationStatus}
-     * @return List<DonationResponseDTO> returns a list of the donations by status
+     * @param statusStr       determines the status we search for, transforms into {@link DonationStatus}
+     * @param sortStr         ordering of the listing, transforms into {@link DonationSort}
+     * @param establishmentId optional filter by the establishment that created the donations
+     * @param unit            optional filter by unit
+     * @return List<DonationResponseDTO> every matching donation
+     * @throws com.example.ZeroFoodWaste.exception.InvalidSortException if the sort is unknown
      */
-    public List<DonationResponseDTO> getDonationsByStatus(String statusStr) {
+    public List<DonationResponseDTO> getAllDonations(String statusStr, String sortStr, Long establishmentId,
+                                                     String unit) {
+        return page(statusStr, DonationSort.from(sortStr), null, null, establishmentId, unit).getItems();
+    }
+
+    // size null reads every remaining row, the returned page then never has a next cursor
+    private DonationPageDTO page(String statusStr, DonationSort sort, DonationCursor after, Integer size,
+                                 Long establishmentId, String unit) {
         DonationStatus status = DonationStatus.valueOf(statusStr.trim().toUpperCase());
-        return donationResponseMapper.toDTOList(donationRepository.findByStatus(status));
+        if (status == DonationStatus.AVAILABLE && sort == DonationSort.EXPIRATION_DATE
+                && availableDonationIndex.isReady()) {
+            return availableDonationIndex.page(after, size == null ? Integer.MAX_VALUE : size,
+                    establishmentId, unit);
+        }
+
+        // one extra row tells us whether there is a next page without a count query
+        Limit fetch = size == null ? Limit.unlimited() : Limit.of(size + 1);
+        List<DonationResponseDTO> donations = switch (sort) {
+            case EXPIRATION_DATE -> after == null
+                    ? donationRepository.findFirstPageByExpirationDate(status, establishmentId, unit, fetch)
+                    : donationRepository.findPageByExpirationDate(status, establishmentId, unit,
+                    after.key(), after.id(), fetch);
+            case CREATED_AT -> after == null
+                    ? donationRepository.findFirstPageByCreatedAt(status, establishmentId, unit, fetch)
+                    : donationRepository.findPageByCreatedAt(status, establishmentId, unit,
+                    after.key(), after.id(), fetch);
+        };
+
+        String nextCursor = null;
+        if (size != null && donations.size() > size) {
+            donations = donations.subList(0, size);
+            DonationResponseDTO last = donations.get(size - 1);
+            LocalDateTime key = sort == DonationSort.CREATED_AT ? last.getCreatedAt() : last.getExpirationDate();
+            nextCursor = new DonationCursor(sort, key, last.getId()).encode();
+        }
+        return new DonationPageDTO(donations, nextCursor);
+    }
+
+    /**
+     * Obtains the AVAILABLE donations around a point, nearest first and, at the same distance,
+     * expiring first. Served from the grid of {@link AvailableDonationIndex}; until the index is
+     * loaded every AVAILABLE donation is read and filtered here. Donations of establishments
+     * without coordinates are never returned.
+     *
+     * @param latitude  latitude of the searched point, in decimal degrees
+     * @param longitude longitude of the searched point, in decimal degrees
+     * @param radiusKm  defaults to {@value #DEFAULT_NEARBY_RADIUS_KM} and is capped at {@value #MAX_NEARBY_RADIUS_KM}
+     * @param limit     number of results, defaults to {@value #DEFAULT_PAGE_SIZE} and is capped at {@value #MAX_PAGE_SIZE}
+     * @return List<NearbyDonationDTO> the donations with their distance to the point
+     * @throws InvalidCoordinatesException if the point is not a valid position
+     */
+    public List<NearbyDonationDTO> getNearbyDonations(double latitude, double longitude, Double radiusKm,
+                                                      Integer limit) {
+        if (!GeoPoint.isValid(latitude, longitude)) throw new InvalidCoordinatesException(latitude, longitude);
+        GeoPoint center = new GeoPoint(latitude, longitude);
+        double radius = radiusKm == null || !(radiusKm > 0)
+                ? DEFAULT_NEARBY_RADIUS_KM
+                : Math.min(radiusKm, MAX_NEARBY_RADIUS_KM);
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        if (availableDonationIndex.isReady()) {
+            return availableDonationIndex.nearby(center, radius, size);
+        }
+        AvailableDonationIndex.Nearest nearest = new AvailableDonationIndex.Nearest(center, radius, size);
+        donationRepository.findDTOByStatus(DonationStatus.AVAILABLE).forEach(nearest::offer);
+        return nearest.sorted();
     }
 
+    /**
+     * Obtains every donation assigned to a food bank, whatever its current status
+     *
+     * @param foodBankId id of the food bank that reserved the donations
+     * @return List<DonationResponseDTO> with the assignment id of each donation
+     */
     public List<DonationResponseDTO> getReservedDonationsByBank(Long foodBankId) {
-    return assignmentRepository.findByFoodBankId(foodBankId)
-        .stream()
-        .map(assignment -> {
-            Donation donation = assignment.getDonation();
-            DonationResponseDTO dto = donationResponseMapper.toDTO(donation);
-            dto.setAssignmentId(assignment.getId());
-            return dto;
-        })
-        .collect(Collectors.toList());
+        return donationRepository.findDTOByFoodBankId(foodBankId);
     }
 
+    /**
+     * Obtains the donation history of a food bank
+     *
+     * @param foodBankId id of the food bank that reserved the donations
+     * @return List<DonationResponseDTO> returns a list of the donations assigned to the food bank
+     */
     public List<DonationResponseDTO> getDonationsByFoodBank(Long foodBankId) {
-        // 1. Buscamos en el repositorio usando el ID del banco
-        List<Donation> donations = donationRepository.findByAssignment_FoodBank_Id(foodBankId);
-        
-        // 2. Convertimos la lista de Entidades a DTOs usando el mapper
-        // Si tu mapper tiene un método toDTOList úsalo, si no, usa stream:
-        return donations.stream()
-                .map(donationResponseMapper::toDTO)
-                .collect(Collectors.toList());
+        return donationRepository.findDTOByFoodBankId(foodBankId);
     }
 
     /**
@@ -87,8 +223,19 @@ public class DonationService {
      * @return List<DonationResponseDTO>  returns a list of the donations from the establishment
      */
     public List<DonationResponseDTO> getDonationsByEstablishment(Long establishmentId) {
-        List<Donation> donations = donationRepository.findAllByEstablishmentId(establishmentId);
-        return donationResponseMapper.toDTOList(donations);
+        return donationRepository.findDTOByEstablishmentId(establishmentId);
+    }
+
+    /**
+     * Obtains the first donations of an establishment, whatever their status, in the same order as
+     * {@link #getDonationsByEstablishment(Long)} so they are a prefix of the full list
+     *
+     * @param establishmentId determines the establishment that created the donations searched
+     * @param limit           how many donations at most, oldest first
+     * @return List<DonationResponseDTO> with up to limit donations
+     */
+    public List<DonationResponseDTO> getFirstDonationsByEstablishment(Long establishmentId, int limit) {
+        return donationRepository.findDTOByEstablishmentId(establishmentId, Limit.of(limit));
     }
 
     /**
@@ -116,38 +263,222 @@ public class DonationService {
     @Transactional
     public DonationResponseDTO createDonation(NewDonationDTO dto) {
         Donation donation = newDonationMapper.toEntity(dto);
-        return donationResponseMapper.toDTO(donationRepository.save(donation));
+        if (donation.getStatus() == null) donation.setStatus(DonationStatus.AVAILABLE);
+        return publish(DonationChangeType.CREATED, null, donationResponseMapper.toDTO(donationRepository.save(donation)));
+    }
+
+    /**
+     * Creates many donations at once. Every row is validated before anything is written and
+     * establishments are loaded once per batch; the inserts are sent as JDBC batches of
+     * {@value #BULK_CHUNK_SIZE}, flushing and clearing the persistence context between chunks.
+     *
+     * @param dtos the donations to create, at most {@value #MAX_BULK_SIZE}; status may be omitted
+     *             and defaults to AVAILABLE
+     * @return the number of donations created and their ids, in request order
+     * @throws InvalidRowsException listing every invalid row, in which case nothing is saved
+     * @throws BatchTooLargeException if more than {@value #MAX_BULK_SIZE} donations are sent
+     */
+    @Transactional
+    public DonationBulkResultDTO createDonations(List<NewDonationDTO> dtos) {
+        if (dtos.size() > MAX_BULK_SIZE) throw new BatchTooLargeException(dtos.size(), MAX_BULK_SIZE);
+
+        Map<Long, Establishment> establishments = loadEstablishments(dtos);
+        List<RowErrorDTO> errors = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            String error = validateNewDonation(dtos.get(i), establishments);
+            if (error != null) errors.add(new RowErrorDTO(i + 1, error));
+        }
+        if (!errors.isEmpty()) throw new InvalidRowsException(errors);
+
+        List<Long> ids = insertDonations(dtos, establishments);
+        return new DonationBulkResultDTO(ids.size(), ids);
+    }
+
+    /**
+     * Creates the valid donations of one chunk of an import and reports the invalid ones,
+     * which do not prevent the others from being saved.
+     *
+     * @param rows donations keyed by their row number in the imported file
+     * @return one error per invalid row
+     */
+    @Transactional
+    public List<RowErrorDTO> createValidDonations(Map<Long, NewDonationDTO> rows) {
+        Map<Long, Establishment> establishments = loadEstablishments(rows.values());
+        List<RowErrorDTO> errors = new ArrayList<>();
+        List<NewDonationDTO> valid = new ArrayList<>(rows.size());
+        rows.forEach((row, dto) -> {
+            String error = validateNewDonation(dto, establishments);
+            if (error == null) {
+                valid.add(dto);
+            } else {
+                errors.add(new RowErrorDTO(row, error));
+            }
+        });
+        insertDonations(valid, establishments);
+        return errors;
+    }
+
+    private Map<Long, Establishment> loadEstablishments(Collection<NewDonationDTO> dtos) {
+        Set<Long> establishmentIds = new HashSet<>();
+        dtos.forEach(dto -> {
+            if (dto.getEstablishmentId() != null) establishmentIds.add(dto.getEstablishmentId());
+        });
+        Map<Long, Establishment> establishments = new HashMap<>();
+        establishmentRepository.findAllById(establishmentIds).forEach(e -> establishments.put(e.getId(), e));
+        return establishments;
+    }
+
+    /**
+     * Inserts already validated donations in JDBC batches of {@value #BULK_CHUNK_SIZE},
+     * clearing the persistence context after each one so it does not grow with the input.
+     *
+     * @return the new ids, in input order
+     */
+    private List<Long> insertDonations(List<NewDonationDTO> dtos, Map<Long, Establishment> establishments) {
+        List<Long> ids = new ArrayList<>(dtos.size());
+        for (int from = 0; from < dtos.size(); from += BULK_CHUNK_SIZE) {
+            List<Donation> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+            for (NewDonationDTO dto : dtos.subList(from, Math.min(from + BULK_CHUNK_SIZE, dtos.size()))) {
+                Donation donation = newDonationMapper.toEntity(dto, establishments);
+                if (donation.getStatus() == null) donation.setStatus(DonationStatus.AVAILABLE);
+                chunk.add(donation);
+            }
+            donationRepository.saveAll(chunk);
+            entityManager.flush();
+            for (Donation donation : chunk) {
+                ids.add(donation.getId());
+                publish(DonationChangeType.CREATED, null, donationResponseMapper.toDTO(donation));
+            }
+            entityManager.clear();
+        }
+        return ids;
+    }
+
+    /**
+     * @return why the donation cannot be created, or null if it is valid
+     */
+    private String validateNewDonation(NewDonationDTO dto, Map<Long, Establishment> establishments) {
+        if (dto.getEstablishmentId() == null) return "establishmentId is required";
+        if (!establishments.containsKey(dto.getEstablishmentId())) {
+            return "Couldn't find an establishment with id: " + dto.getEstablishmentId();
+        }
+        if (dto.getProductName() == null || dto.getProductName().isBlank()) return "productName is required";
+        if (dto.getQuantity() == null || dto.getQuantity() <= 0) return "quantity must be greater than 0";
+        if (dto.getUnit() == null || dto.getUnit().isBlank()) return "unit is required";
+        if (dto.getExpirationDate() == null) return "expirationDate is required";
+        if (!dto.getExpirationDate().isAfter(LocalDateTime.now())) return "expirationDate must be in the future";
+        if (dto.getStatus() != null && !DonationStatus.AVAILABLE.name().equalsIgnoreCase(dto.getStatus())) {
+            return "new donations must be AVAILABLE";
+        }
+        return null;
     }
 
     /**
+     * Reserves a donation for a food bank as one conditional transition: a guarded UPDATE
+     * moves it from AVAILABLE to RESERVED and only the caller whose UPDATE matched inserts the
+     * assignment, which the unique donation_id column backs up. Transient database failures
+     * (lock timeouts, deadlocks) are retried up to {@value #MAX_RESERVE_ATTEMPTS} times.
      *
      * @param donationId id of the donation accepted
      * @param foodBankId transform into {@link FoodBank} the food bank that accepted the donation
      * @return the updated donation mapped to a response DTO
+     * @throws DonationAlreadyReserved if the donation is no longer AVAILABLE
      */
-    @Transactional
     public DonationResponseDTO acceptDonation(Long donationId, Long foodBankId) {
-        Donation donation = donationRepository.findById(donationId)
-                .orElseThrow(() -> new DonationNotFoundException("Couldn't find a donation with id: "+donationId));
+        return inReservationTransaction(() -> reserve(donationId, foodBankId), "Donation " + donationId);
+    }
 
-        // Comprueba si ya tiene asignación
-        if (donation.getAssignment() != null) {
-            throw new DonationAlreadyReserved("Donation is already reserved");
-        }
+    /**
+     * Reserves many donations for one food bank in a single transaction with a fixed number of
+     * statements: one guarded UPDATE for the whole batch, one read-back of the donations it
+     * claimed, one JDBC batch of assignments and one select of the results. Donations that are
+     * not AVAILABLE are reported as conflicts without failing the rest of the batch.
+     *
+     * @param donationIds donations to reserve, at most {@value #MAX_RESERVE_BATCH}, duplicates are ignored
+     * @param foodBankId  transform into {@link FoodBank} the food bank that accepted the donations
+     * @return one result per distinct donation id, in request order
+     * @throws BatchTooLargeException if more than {@value #MAX_RESERVE_BATCH} ids are sent
+     */
+    public List<DonationReservationResultDTO> acceptDonations(List<Long> donationIds, Long foodBankId) {
+        Set<Long> ids = new LinkedHashSet<>(donationIds);
+        if (ids.size() > MAX_RESERVE_BATCH) throw new BatchTooLargeException(ids.size(), MAX_RESERVE_BATCH);
+        if (ids.isEmpty()) return List.of();
+        List<DonationReservationResultDTO> results =
+                inReservationTransaction(() -> reserveAll(ids, foodBankId), "One of the donations");
+        // counted once committed, a retried attempt would count its conflicts twice
+        donationMetrics.reservationConflict((int) results.stream()
+                .filter(r -> r.getResult() == ReservationResult.CONFLICT).count());
+        return results;
+    }
 
+    private DonationResponseDTO reserve(Long donationId, Long foodBankId) {
         FoodBank foodBank = foodBankRepository.findById(foodBankId)
                 .orElseThrow(() -> new FoodBankNotFoundException(foodBankId));
 
-        // Crear y guardar nueva asignación
-        DonationAssignment assignment = new DonationAssignment(donation, foodBank);
-        assignmentRepository.save(assignment);
+        if (donationRepository.reserve(donationId, LocalDateTime.now()) == 0) {
+            DonationStatus status = donationRepository.findStatusById(donationId)
+                    .orElseThrow(() -> new DonationNotFoundException(donationId));
+            donationMetrics.reservationConflict(1);
+            throw new DonationAlreadyReserved("Donation " + donationId + " is " + status + ", not AVAILABLE");
+        }
+        assignmentRepository.save(new DonationAssignment(donationRepository.getReferenceById(donationId), foodBank));
+
+        DonationResponseDTO dto = donationRepository.findDTOById(donationId)
+                .orElseThrow(() -> new DonationNotFoundException(donationId));
+        return publish(DonationChangeType.RESERVED, DonationStatus.AVAILABLE, dto);
+    }
+
+    private List<DonationReservationResultDTO> reserveAll(Set<Long> ids, Long foodBankId) {
+        if (!foodBankRepository.existsById(foodBankId)) throw new FoodBankNotFoundException(foodBankId);
 
-        donation.setAssignment(assignment);
-        donation.setStatus(DonationStatus.RESERVED);
+        // the column keeps microseconds, findReservedWithoutAssignment compares against the stored value
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Set<Long> reserved = Set.of();
+        if (donationRepository.reserveAll(ids, now) > 0) {
+            reserved = new HashSet<>(donationRepository.findReservedWithoutAssignment(ids, now));
+            assignmentRepository.insertAll(reserved, foodBankId, now);
+        }
 
-        return donationResponseMapper.toDTO(donationRepository.save(donation));
+        Map<Long, DonationResponseDTO> donations = new HashMap<>();
+        donationRepository.findDTOByIdIn(ids).forEach(dto -> donations.put(dto.getId(), dto));
+        List<DonationReservationResultDTO> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            DonationResponseDTO dto = donations.get(id);
+            if (dto == null) {
+                results.add(new DonationReservationResultDTO(id, ReservationResult.NOT_FOUND, null, null));
+            } else if (reserved.contains(id)) {
+                publish(DonationChangeType.RESERVED, DonationStatus.AVAILABLE, dto);
+                results.add(new DonationReservationResultDTO(id, ReservationResult.RESERVED, dto.getStatus(), dto));
+            } else {
+                results.add(new DonationReservationResultDTO(id, ReservationResult.CONFLICT, dto.getStatus(), null));
+            }
+        }
+        return results;
     }
 
+    /**
+     * Runs a reservation in its own transaction, retrying transient database failures (lock
+     * timeouts, deadlocks) up to {@value #MAX_RESERVE_ATTEMPTS} times.
+     *
+     * @param reservation the work to run
+     * @param subject     what is being reserved, for the conflict message
+     * @return the result of the reservation
+     */
+    private <T> T inReservationTransaction(Supplier<T> reservation, String subject) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(tx -> reservation.get());
+            } catch (DataIntegrityViolationException e) {
+                // the unique donation_id rejected a second assignment for the same donation
+                donationMetrics.reservationConflict(1);
+                throw new DonationAlreadyReserved(subject + " is already reserved");
+            } catch (TransientDataAccessException e) {
+                if (attempt == MAX_RESERVE_ATTEMPTS) throw e;
+                donationMetrics.reservationRetry();
+                log.debug("Retrying reservation after {}", e.getMessage());
+            }
+        }
+    }
 
     /**
      * modifies the status of the donation selected to picked up
@@ -163,10 +494,12 @@ public class DonationService {
         DonationAssignment assignment = assignmentRepository.findByDonationId(id).orElseThrow(
                 () -> new AssignmentNotFoundException("Couldn't find the Assignment with donationId: "+id)
         );
+        DonationStatus previousStatus = donation.getStatus();
         donation.setStatus(DonationStatus.COMPLETED);
         assignment.setPickedUpAt(LocalDateTime.now());
         assignmentRepository.save(assignment);
-        return donationResponseMapper.toDTO(donationRepository.save(donation));
+        return publish(DonationChangeType.PICKED_UP, previousStatus,
+                donationResponseMapper.toDTO(donationRepository.save(donation)));
     }
 
     @Transactional
@@ -186,16 +519,18 @@ public class DonationService {
 
         // Actualizar estado de la donación
         donation.setAssignment(null);
+        DonationStatus previousStatus = donation.getStatus();
         donation.setStatus(DonationStatus.AVAILABLE);
 
-        return donationResponseMapper.toDTO(donationRepository.save(donation));
+        return publish(DonationChangeType.CANCELLED, previousStatus,
+                donationResponseMapper.toDTO(donationRepository.save(donation)));
     }
     //endregion
 
     //region delete
 
     /**
-     * Search a donation and delete it
+     * Search a donation and delete it, leaving a tombstone for {@link DonationChangeFeed}
      *
      * @param id id of the donation to delete
      * @return DonationResponseDTO
@@ -206,7 +541,8 @@ public class DonationService {
                 () -> new DonationNotFoundException("Couldn't find a Donation with id: "+id)
         );
         donationRepository.delete(donation);
-        return donationResponseMapper.toDTO(donation);
+        tombstoneRepository.save(new DonationTombstone(id, LocalDateTime.now()));
+        return publish(DonationChangeType.DELETED, donation.getStatus(), donationResponseMapper.toDTO(donation));
     }
     //endregion
 
@@ -223,10 +559,48 @@ public class DonationService {
     public DonationResponseDTO modifyDonation(DonationResponseDTO dto) {
         Donation donation = donationRepository.findById(dto.getId())
                 .orElseThrow(() -> new DonationNotFoundException("Couldn't find a Donation with id: "+dto.getId()));
+        DonationStatus previousStatus = donation.getStatus();
         donationResponseMapper.updateEntityFromDTO(dto, donation);
         Donation saved = donationRepository.save(donation);
-        return donationResponseMapper.toDTO(saved);
+        return publish(DonationChangeType.UPDATED, previousStatus, donationResponseMapper.toDTO(saved));
+    }
+
+    //endregion
+
+    //region expiry
+
+    /**
+     * Moves due donations to EXPIRED with one set-based UPDATE and announces each of them.
+     * Donations reserved or postponed in the meantime are skipped by the UPDATE itself.
+     *
+     * @param ids ids whose expiration date has passed according to {@link DonationExpirySweeper}
+     * @param now the sweep time, also stored as updatedAt
+     * @return the donations actually expired
+     */
+    @Transactional
+    public List<DonationResponseDTO> expireDonations(Collection<Long> ids, LocalDateTime now) {
+        if (donationRepository.expire(ids, now) == 0) return List.of();
+        List<DonationResponseDTO> expired = donationRepository.findDTOExpiredAt(ids, now);
+        expired.forEach(dto -> publish(DonationChangeType.EXPIRED, DonationStatus.AVAILABLE, dto));
+        return expired;
     }
+    //endregion
+
+    //region events
 
+    /**
+     * Announces a donation change. Listeners bound to the transaction, such as
+     * {@link AvailableDonationIndex}, receive it once the change has been committed.
+     *
+     * @param type           what happened to the donation
+     * @param previousStatus status before the change, null for new donations
+     * @param dto            the donation as returned to the caller
+     * @return the same dto
+     */
+    private DonationResponseDTO publish(DonationChangeType type, DonationStatus previousStatus,
+                                        DonationResponseDTO dto) {
+        eventPublisher.publishEvent(new DonationChangedEvent(type, previousStatus, dto));
+        return dto;
+    }
     //endregion
 }
@@ -2,6 +2,8 @@
 
 package com.example.ZeroFoodWaste.service;
 
+import com.example.ZeroFoodWaste.config.CacheConfig;
+import com.example.ZeroFoodWaste.event.EstablishmentChangedEvent;
 import com.example.ZeroFoodWaste.exception.EstablishmentNotFoundException;
 import com.example.ZeroFoodWaste.model.dto.EstablishmentResponseDTO;
 import com.example.ZeroFoodWaste.model.dto.NewUserDTO;
@@ -11,9 +13,13 @@ import com.example.ZeroFoodWaste.model.mapper.EstablishmentResponseMapper;
 import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.NoSuchElementException;
+import java.util.Objects;
 
 //endregion
 
@@ -23,16 +29,20 @@ public class EstablishmentService {
 
     private final EstablishmentRepository establishmentRepository;
     private final EstablishmentResponseMapper establishmentResponseMapper;
+    private final GeocodingService geocodingService;
+    private final ApplicationEventPublisher eventPublisher;
 
     //region get
 
     /**
      * Retrieves an establishment associated with a specific user ID.
+     * Served from the {@value CacheConfig#ESTABLISHMENTS} cache when possible.
      *
      * @param id the ID of the user whose establishment is to be retrieved
      * @return the {@link EstablishmentResponseDTO} linked to the user
      * @throws NoSuchElementException if no establishment is found for the given user ID
      */
+    @Cacheable(cacheNames = CacheConfig.ESTABLISHMENTS, key = "#id", sync = true)
     public EstablishmentResponseDTO getEstablishment(Long id) {
         return establishmentResponseMapper.toDTO(establishmentRepository.findById(id).orElseThrow(
                 () -> new EstablishmentNotFoundException(id)));
@@ -43,6 +53,7 @@ public class EstablishmentService {
     //region post
     @Transactional
     public EstablishmentResponseDTO createEstablishment(Establishment establishment) {
+        geocodingService.locate(establishment);
         return establishmentResponseMapper.toDTO(establishmentRepository.save(establishment));
     }
     //endregion
@@ -52,6 +63,9 @@ public class EstablishmentService {
     /**
      * Updates an existing establishment with new values.
      * Only the fields allowed for modification will be updated; ID and user association are not changed.
+     * The address is geocoded again when it changes.
+     * The cached copy is replaced with the saved one and an {@link EstablishmentChangedEvent} is published,
+     * its name and coordinates are part of every donation listing.
      *
      * @param id
      * @param dto an {@link EstablishmentResponseDTO} object containing the new values
@@ -59,12 +73,19 @@ public class EstablishmentService {
      * @throws NoSuchElementException if the establishment with the given ID does not exist
      */
     @Transactional
+    @CachePut(cacheNames = CacheConfig.ESTABLISHMENTS, key = "#id")
     public EstablishmentResponseDTO modifyEstablishment(Long id, EstablishmentResponseDTO dto) {
         Establishment establishment = establishmentRepository.findById(id).orElseThrow(
                 () -> new EstablishmentNotFoundException(id)
         );
+        String previousAddress = establishment.getAddress();
         establishmentResponseMapper.updateEntityFromDTO(dto, establishment);
-        return establishmentResponseMapper.toDTO(establishmentRepository.save(establishment));
+        if (!Objects.equals(previousAddress, establishment.getAddress()) || establishment.getLatitude() == null) {
+            geocodingService.locate(establishment);
+        }
+        EstablishmentResponseDTO saved = establishmentResponseMapper.toDTO(establishmentRepository.save(establishment));
+        eventPublisher.publishEvent(new EstablishmentChangedEvent(saved));
+        return saved;
     }
 
     //endregion
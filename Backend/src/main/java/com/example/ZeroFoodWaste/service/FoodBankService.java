@@ -2,6 +2,8 @@
 
 package com.example.ZeroFoodWaste.service;
 
+import com.example.ZeroFoodWaste.config.CacheConfig;
+import com.example.ZeroFoodWaste.event.FoodBankChangedEvent;
 import com.example.ZeroFoodWaste.exception.FoodBankNotFoundException;
 import com.example.ZeroFoodWaste.model.dto.FoodBankResponseDTO;
 import com.example.ZeroFoodWaste.model.entity.FoodBank;
@@ -9,9 +11,13 @@ import com.example.ZeroFoodWaste.model.mapper.FoodBankResponseMapper;
 import com.example.ZeroFoodWaste.repository.FoodBankRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.NoSuchElementException;
+import java.util.Objects;
 
 //endregion
 
@@ -21,16 +27,19 @@ public class FoodBankService {
 
     private final FoodBankRepository foodBankRepository;
     private final FoodBankResponseMapper foodBankResponseMapper;
+    private final GeocodingService geocodingService;
+    private final ApplicationEventPublisher eventPublisher;
 
     //region get
 
     /**
-     * search and retrieves a food bank by its id
+     * search and retrieves a food bank by its id, served from the {@value CacheConfig#FOOD_BANKS} cache when possible
      *
      * @param id the id of the food bank
      * @return retrieves the food bank if found
      * @throws FoodBankNotFoundException if cant find the food bank
      */
+    @Cacheable(cacheNames = CacheConfig.FOOD_BANKS, key = "#id", sync = true)
     public FoodBankResponseDTO getFoodBank(Long id) {
         return foodBankResponseMapper.toDTO(foodBankRepository.findById(id).orElseThrow(
                 () -> new FoodBankNotFoundException(id)));
@@ -41,6 +50,7 @@ public class FoodBankService {
     //region post
     @Transactional
     public FoodBankResponseDTO createFoodBank(FoodBank foodBank) {
+        geocodingService.locate(foodBank);
         return foodBankResponseMapper.toDTO(foodBankRepository.save(foodBank));
     }
     //endregion
@@ -49,6 +59,8 @@ public class FoodBankService {
 
     /**
      * receives a food bank, search it on the database and modify the properties, then save on DB
+     * and replace the cached copy; the address is geocoded again when it changes.
+     * Publishes a {@link FoodBankChangedEvent}, the name of the food bank is part of donation listings
      *
      * @param id
      * @param dto is the object with the  properties modified
@@ -56,11 +68,18 @@ public class FoodBankService {
      * @throws FoodBankNotFoundException if cant find the food bank
      */
     @Transactional
+    @CachePut(cacheNames = CacheConfig.FOOD_BANKS, key = "#id")
     public FoodBankResponseDTO modifyFoodBank(Long id, FoodBankResponseDTO dto) {
         FoodBank foodBank = foodBankRepository.findById(id).orElseThrow(
                 () -> new FoodBankNotFoundException(id));
+        String previousAddress = foodBank.getAddress();
         foodBankResponseMapper.updateEntityFromDTO(dto, foodBank);
-        return foodBankResponseMapper.toDTO(foodBankRepository.save(foodBank));
+        if (!Objects.equals(previousAddress, foodBank.getAddress()) || foodBank.getLatitude() == null) {
+            geocodingService.locate(foodBank);
+        }
+        FoodBankResponseDTO saved = foodBankResponseMapper.toDTO(foodBankRepository.save(foodBank));
+        eventPublisher.publishEvent(new FoodBankChangedEvent(saved));
+        return saved;
     }
 
     //endregion
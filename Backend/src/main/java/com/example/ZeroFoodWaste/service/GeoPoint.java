@@ -0,0 +1,49 @@
+package com.example.ZeroFoodWaste.service;
+
+/**
+ * A WGS84 position in decimal degrees.
+ */
+public record GeoPoint(double latitude, double longitude) {
+
+    // mean Earth radius
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    // length of one degree of latitude, and of longitude at the equator
+    static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    public GeoPoint {
+        if (!isValid(latitude, longitude)) {
+            throw new IllegalArgumentException("Invalid coordinates: " + latitude + ", " + longitude);
+        }
+    }
+
+    /**
+     * @return true if both are finite, latitude within [-90, 90] and longitude within [-180, 180]
+     */
+    public static boolean isValid(double latitude, double longitude) {
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+
+    /**
+     * @return null unless both coordinates are set and valid
+     */
+    public static GeoPoint ofNullable(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null || !isValid(latitude, longitude)) return null;
+        return new GeoPoint(latitude, longitude);
+    }
+
+    /**
+     * Great-circle distance by the haversine formula, accurate to about 0.5% at any range.
+     */
+    public double distanceKm(GeoPoint other) {
+        return distanceKm(other.latitude, other.longitude);
+    }
+
+    public double distanceKm(double latitude, double longitude) {
+        double dLat = Math.toRadians(latitude - this.latitude);
+        double dLon = Math.toRadians(longitude - this.longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(this.latitude)) * Math.cos(Math.toRadians(latitude))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
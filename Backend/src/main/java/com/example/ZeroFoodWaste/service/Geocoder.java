@@ -0,0 +1,15 @@
+package com.example.ZeroFoodWaste.service;
+
+import java.util.Optional;
+
+/**
+ * Turns a postal address into coordinates.
+ */
+public interface Geocoder {
+
+    /**
+     * @param address free-form address as typed by the user
+     * @return the position of the address, empty if it cannot be located
+     */
+    Optional<GeoPoint> geocode(String address);
+}
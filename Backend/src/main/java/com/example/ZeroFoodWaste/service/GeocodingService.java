@@ -0,0 +1,68 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.model.entity.Establishment;
+import com.example.ZeroFoodWaste.model.entity.FoodBank;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import com.example.ZeroFoodWaste.repository.FoodBankRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Keeps the coordinates of establishments and food banks in step with their address.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GeocodingService {
+
+    private final Geocoder geocoder;
+    private final EstablishmentRepository establishmentRepository;
+    private final FoodBankRepository foodBankRepository;
+
+    /**
+     * Sets the coordinates of the establishment from its address, or clears them if the
+     * address cannot be located.
+     */
+    public void locate(Establishment establishment) {
+        GeoPoint point = geocoder.geocode(establishment.getAddress()).orElse(null);
+        establishment.setLatitude(point == null ? null : point.latitude());
+        establishment.setLongitude(point == null ? null : point.longitude());
+    }
+
+    /**
+     * Sets the coordinates of the food bank from its address, or clears them if the
+     * address cannot be located.
+     */
+    public void locate(FoodBank foodBank) {
+        GeoPoint point = geocoder.geocode(foodBank.getAddress()).orElse(null);
+        foodBank.setLatitude(point == null ? null : point.latitude());
+        foodBank.setLongitude(point == null ? null : point.longitude());
+    }
+
+    /**
+     * Geocodes the establishments and food banks saved without coordinates, e.g. before the
+     * columns existed. Runs ahead of the other startup listeners so that
+     * {@link AvailableDonationIndex#rebuild()} already loads the donations with their location.
+     */
+    @Transactional
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Establishment> establishments = establishmentRepository.findByLatitudeIsNullOrLongitudeIsNull();
+        establishments.forEach(this::locate);
+        List<FoodBank> foodBanks = foodBankRepository.findByLatitudeIsNullOrLongitudeIsNull();
+        foodBanks.forEach(this::locate);
+        if (!establishments.isEmpty() || !foodBanks.isEmpty()) {
+            log.info("Geocoded {} establishments and {} food banks without coordinates",
+                    establishments.size(), foodBanks.size());
+        }
+    }
+}
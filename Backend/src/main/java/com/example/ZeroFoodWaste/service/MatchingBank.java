@@ -0,0 +1,17 @@
+package com.example.ZeroFoodWaste.service;
+
+import java.util.Map;
+
+/**
+ * A food bank as seen by {@link DonationMatcher}: where it is and what it has accepted lately.
+ *
+ * @param id       food bank id
+ * @param location geocoded address
+ * @param units    by unit, the share of the bank's recent donations in it and their average
+ *                 quantity; empty for a bank without history
+ */
+public record MatchingBank(Long id, GeoPoint location, Map<String, UnitHistory> units) {
+
+    public record UnitHistory(double share, double averageQuantity) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.ZeroFoodWaste.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Stand-in for a geocoding service that needs no network: every address is placed at a
+ * pseudo-random point of a disc around a configured center, derived from a hash of the
+ * normalized address. The same address always lands on the same point, whatever its case,
+ * accents or spacing, so distances are stable across restarts and between nodes.
+ */
+@Component
+public class OfflineGeocoder implements Geocoder {
+
+    private final GeoPoint center;
+    private final double radiusKm;
+
+    public OfflineGeocoder(
+            @Value("${geocoding.offline.center-latitude:40.4168}") double centerLatitude,
+            @Value("${geocoding.offline.center-longitude:-3.7038}") double centerLongitude,
+            @Value("${geocoding.offline.radius-km:15}") double radiusKm
+    ) {
+        this.center = new GeoPoint(centerLatitude, centerLongitude);
+        this.radiusKm = radiusKm;
+    }
+
+    @Override
+    public Optional<GeoPoint> geocode(String address) {
+        String normalized = normalize(address);
+        if (normalized.isEmpty()) return Optional.empty();
+
+        ByteBuffer hash = ByteBuffer.wrap(sha256(normalized));
+        double bearing = unit(hash.getLong()) * 2 * Math.PI;
+        // the square root spreads the points evenly over the disc instead of crowding the center
+        double distanceKm = radiusKm * Math.sqrt(unit(hash.getLong()));
+
+        double latitude = center.latitude() + distanceKm * Math.cos(bearing) / GeoPoint.KM_PER_DEGREE;
+        double longitude = center.longitude() + distanceKm * Math.sin(bearing)
+                / (GeoPoint.KM_PER_DEGREE * Math.cos(Math.toRadians(center.latitude())));
+        return Optional.of(new GeoPoint(latitude, longitude));
+    }
+
+    static String normalize(String address) {
+        if (address == null) return "";
+        String plain = Normalizer.normalize(address, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return plain.toLowerCase(Locale.ROOT).replaceAll("[^\\p{Alnum}]+", " ").trim();
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // top 53 bits as a double in [0, 1)
+    private static double unit(long bits) {
+        return (bits >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.model.dto.DonationPageDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.SessionBootstrapDTO;
+import com.example.ZeroFoodWaste.model.dto.UserResponseDTO;
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SessionService {
+
+    private final UserService userService;
+    private final EstablishmentService establishmentService;
+    private final FoodBankService foodBankService;
+    private final DonationService donationService;
+
+    /**
+     * Everything a client needs to draw its first screen after login, in one call: the user,
+     * their establishment or food bank profile and the first page of the donations their
+     * dashboard lists. The user and the profile come from their caches and the AVAILABLE page
+     * from the in-memory index, so only an establishment's donation list reaches the database
+     * once the caches are warm.
+     * <p>
+     * An establishment's page is the start of GET /donations/establishment/{id}, in the same
+     * oldest-first order. That endpoint is not paged, so when hasMore is set the client replaces
+     * the page with the full list it returns.
+     *
+     * @param email the signed-in user
+     * @return SessionBootstrapDTO with the profile matching the user's role
+     * @throws com.example.ZeroFoodWaste.exception.UserNotFoundException if no user has that email
+     */
+    public SessionBootstrapDTO bootstrap(String email) {
+        UserResponseDTO user = userService.getByEmail(email);
+        SessionBootstrapDTO session = new SessionBootstrapDTO();
+        session.setUser(user);
+
+        if (user.getEstablishmentId() != null) {
+            session.setEstablishment(establishmentService.getEstablishment(user.getEstablishmentId()));
+            // one extra row tells whether there is more without a count query
+            List<DonationResponseDTO> first = donationService.getFirstDonationsByEstablishment(
+                    user.getEstablishmentId(), DonationService.DEFAULT_PAGE_SIZE + 1);
+            session.setHasMore(first.size() > DonationService.DEFAULT_PAGE_SIZE);
+            session.setDonations(session.isHasMore() ? first.subList(0, DonationService.DEFAULT_PAGE_SIZE) : first);
+        } else if (user.getFoodBankId() != null) {
+            session.setFoodBank(foodBankService.getFoodBank(user.getFoodBankId()));
+            DonationPageDTO page = donationService.getDonationPage(
+                    DonationStatus.AVAILABLE.name(), null, null, null, null, null);
+            session.setDonations(page.getItems());
+            session.setNextCursor(page.getNextCursor());
+            session.setHasMore(page.getNextCursor() != null);
+        } else {
+            session.setDonations(List.of());
+        }
+        return session;
+    }
+}
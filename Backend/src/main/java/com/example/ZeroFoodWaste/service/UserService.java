@@ -2,34 +2,60 @@
 
 package com.example.ZeroFoodWaste.service;
 
+import com.example.ZeroFoodWaste.config.BoundedPasswordEncoder;
+import com.example.ZeroFoodWaste.config.CacheConfig;
+import com.example.ZeroFoodWaste.exception.BatchTooLargeException;
 import com.example.ZeroFoodWaste.exception.EmailAlreadyExistsException;
 import com.example.ZeroFoodWaste.exception.UserNotFoundException;
 import com.example.ZeroFoodWaste.model.dto.NewUserDTO;
+import com.example.ZeroFoodWaste.model.dto.UserRegistrationResultDTO;
 import com.example.ZeroFoodWaste.model.dto.UserResponseDTO;
 import com.example.ZeroFoodWaste.model.entity.Establishment;
 import com.example.ZeroFoodWaste.model.entity.FoodBank;
 import com.example.ZeroFoodWaste.model.entity.User;
+import com.example.ZeroFoodWaste.model.enums.RegistrationResult;
 import com.example.ZeroFoodWaste.model.enums.Role;
 import com.example.ZeroFoodWaste.model.mapper.NewUserMapper;
 import com.example.ZeroFoodWaste.model.mapper.UserResponseMapper;
 import com.example.ZeroFoodWaste.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 //endregion
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
+
+    public static final int MAX_BULK_USERS = 1000;
+    // matches hibernate.jdbc.batch_size and the users_seq allocation size
+    public static final int BULK_CHUNK_SIZE = 50;
 
     private final UserRepository userRepository;
     private final NewUserMapper newUserMapper;
     private final UserResponseMapper userResponseMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final GeocodingService geocodingService;
 
     //region post
 
@@ -43,14 +69,142 @@ public class UserService implements UserDetailsService {
      * @throws EmailAlreadyExistsException if the email is already registered
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#dto.email")
     public UserResponseDTO createUser(NewUserDTO dto) throws EmailAlreadyExistsException {
-        System.out.println(dto);
         if (userRepository.existsByEmail(dto.getEmail())) {
             throw new EmailAlreadyExistsException("Email already registered");
         }
 
+        User saved = userRepository.save(newUser(dto, passwordEncoder.encode(dto.getPassword())));
+        return userResponseMapper.toDTOWithoutPass(saved);
+    }
+
+    /**
+     * Registers many users at once, for example every store of a chain. Rows are checked
+     * first and reported without stopping the others: INVALID when a required field is
+     * missing, DUPLICATE when the email appeared in an earlier row, EMAIL_TAKEN when it is
+     * already registered, found with a single query for the whole request. Passwords are
+     * hashed in parallel on the password hashing pool, outside any transaction, and the
+     * remaining users are inserted in one transaction as JDBC batches of
+     * {@value #BULK_CHUNK_SIZE}. If another registration takes one of the emails in the
+     * meantime, the unique email column rejects the batch and it is retried once without it.
+     *
+     * @param dtos the users to create, at most {@value #MAX_BULK_USERS}
+     * @return one result per row, in request order
+     * @throws BatchTooLargeException if more than {@value #MAX_BULK_USERS} users are sent
+     */
+    public List<UserRegistrationResultDTO> createUsers(List<NewUserDTO> dtos) {
+        if (dtos.size() > MAX_BULK_USERS) throw new BatchTooLargeException(dtos.size(), MAX_BULK_USERS);
+
+        UserRegistrationResultDTO[] results = new UserRegistrationResultDTO[dtos.size()];
+        Map<String, Integer> rowByEmail = new LinkedHashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            NewUserDTO dto = dtos.get(i);
+            String error = validateNewUser(dto);
+            Integer first = error == null ? rowByEmail.putIfAbsent(dto.getEmail(), i) : null;
+            if (error != null) {
+                results[i] = rejected(i, dto, RegistrationResult.INVALID, error);
+            } else if (first != null) {
+                results[i] = rejected(i, dto, RegistrationResult.DUPLICATE, "Email already used in row " + (first + 1));
+            }
+        }
+        rejectTakenEmails(rowByEmail, dtos, results);
+
+        List<Integer> rows = pendingRows(rowByEmail, results);
+        List<String> hashes = passwordEncoder.encodeAll(rows.stream().map(row -> dtos.get(row).getPassword()).toList());
+        Map<Integer, String> hashByRow = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) hashByRow.put(rows.get(i), hashes.get(i));
+
+        for (int attempt = 1; ; attempt++) {
+            List<Integer> pending = pendingRows(rowByEmail, results);
+            try {
+                List<User> saved = transactionTemplate.execute(tx -> insertUsers(pending, dtos, hashByRow));
+                for (int i = 0; i < pending.size(); i++) {
+                    int row = pending.get(i);
+                    results[row] = new UserRegistrationResultDTO(row + 1, dtos.get(row).getEmail(),
+                            RegistrationResult.CREATED, userResponseMapper.toDTOWithoutPass(saved.get(i)), null);
+                }
+                break;
+            } catch (DataIntegrityViolationException e) {
+                // rolled back as a whole; anything else than a newly taken email is a real error
+                if (attempt == 2 || rejectTakenEmails(rowByEmail, dtos, results) == 0) throw e;
+            }
+        }
+        log.info("Bulk registration: {} rows, {} created", dtos.size(),
+                Arrays.stream(results).filter(r -> r.getResult() == RegistrationResult.CREATED).count());
+        return Arrays.asList(results);
+    }
+
+    private String validateNewUser(NewUserDTO dto) {
+        if (isBlank(dto.getEmail()) || !dto.getEmail().contains("@")) return "a valid email is required";
+        if (isBlank(dto.getPassword())) return "password is required";
+        if (dto.getRole() == null) return "role is required";
+        if (dto.getRole() == Role.Establishment && (isBlank(dto.getEstablishmentName())
+                || isBlank(dto.getEstablishmentAddress()) || isBlank(dto.getEstablishmentContactPhone()))) {
+            return "establishmentName, establishmentAddress and establishmentContactPhone are required";
+        }
+        if (dto.getRole() == Role.FoodBank && (isBlank(dto.getFoodBankName())
+                || isBlank(dto.getFoodBankAddress()) || isBlank(dto.getFoodBankContactPhone()))) {
+            return "foodBankName, foodBankAddress and foodBankContactPhone are required";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Marks the rows whose email is already registered, with one query for all of them.
+     *
+     * @return how many rows were marked
+     */
+    private int rejectTakenEmails(Map<String, Integer> rowByEmail, List<NewUserDTO> dtos,
+                                  UserRegistrationResultDTO[] results) {
+        List<String> emails = pendingRows(rowByEmail, results).stream().map(row -> dtos.get(row).getEmail()).toList();
+        if (emails.isEmpty()) return 0;
+        List<String> taken = userRepository.findExistingEmails(emails);
+        for (String email : taken) {
+            int row = rowByEmail.get(email);
+            results[row] = rejected(row, dtos.get(row), RegistrationResult.EMAIL_TAKEN, "Email already registered");
+        }
+        return taken.size();
+    }
+
+    private List<Integer> pendingRows(Map<String, Integer> rowByEmail, UserRegistrationResultDTO[] results) {
+        return rowByEmail.values().stream().filter(row -> results[row] == null).toList();
+    }
+
+    private UserRegistrationResultDTO rejected(int row, NewUserDTO dto, RegistrationResult result, String message) {
+        return new UserRegistrationResultDTO(row + 1, dto.getEmail(), result, null, message);
+    }
+
+    /**
+     * Inserts users with their establishment or food bank in JDBC batches of
+     * {@value #BULK_CHUNK_SIZE}, clearing the persistence context after each one.
+     *
+     * @return the saved users, in the order of rows
+     */
+    private List<User> insertUsers(List<Integer> rows, List<NewUserDTO> dtos, Map<Integer, String> hashByRow) {
+        List<User> saved = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += BULK_CHUNK_SIZE) {
+            List<User> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+            for (Integer row : rows.subList(from, Math.min(from + BULK_CHUNK_SIZE, rows.size()))) {
+                chunk.add(newUser(dtos.get(row), hashByRow.get(row)));
+            }
+            // flushed through the repository so a taken email comes as a DataIntegrityViolationException
+            saved.addAll(userRepository.saveAllAndFlush(chunk));
+            entityManager.clear();
+        }
+        return saved;
+    }
+
+    /**
+     * Builds a user and, depending on the role, its geocoded Establishment or FoodBank.
+     */
+    private User newUser(NewUserDTO dto, String passwordHash) {
         User user = newUserMapper.toEntity(dto);
-        user.setPasswordHash(passwordEncoder.encode(dto.getPassword()));
+        user.setPasswordHash(passwordHash);
 
         if (user.getRole() == Role.Establishment) {
             Establishment est = new Establishment();
@@ -58,6 +212,7 @@ public class UserService implements UserDetailsService {
             est.setAddress(dto.getEstablishmentAddress());
             est.setContactPhone(dto.getEstablishmentContactPhone());
             est.setDescription(dto.getDescription());
+            geocodingService.locate(est);
             user.setEstablishment(est);
         }
 
@@ -67,11 +222,10 @@ public class UserService implements UserDetailsService {
             fb.setAddress(dto.getFoodBankAddress());
             fb.setContactPhone(dto.getFoodBankContactPhone());
             fb.setDescription(dto.getDescription());
+            geocodingService.locate(fb);
             user.setFoodBank(fb);
         }
-
-        User saved = userRepository.save(user);
-        return userResponseMapper.toDTOWithoutPass(saved);
+        return user;
     }
 
     /**
@@ -97,12 +251,35 @@ public class UserService implements UserDetailsService {
     }
 
     /**
-     * Retrieves user information by email.
+     * Replaces a password hash made with an older work factor, called by Spring Security after
+     * a successful login when the encoder reports that the stored hash needs upgrading.
+     *
+     * @param user        the user that just logged in
+     * @param newPassword the password hashed again with the current settings
+     * @return the user with the new hash
+     * @throws UserNotFoundException if the user was deleted in the meantime
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) throws UserNotFoundException {
+        User entity = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UserNotFoundException(user.getUsername()));
+        entity.setPasswordHash(newPassword);
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+
+    /**
+     * Retrieves user information by email, served from the {@value CacheConfig#USERS} cache when
+     * possible. The entry is filled at login and holds the establishment and food bank ids, so
+     * pages reading the signed-in user run no query.
      *
      * @param email the email of the user to retrieve
      * @return UserResponseDTO containing user data, excluding the password
      * @throws UserNotFoundException if no user with the given email exists
      */
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#email", sync = true)
     public UserResponseDTO getByEmail(String email) throws UserNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + email));
@@ -0,0 +1,64 @@
+-- Schema as previously generated by spring.jpa.hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+create sequence donations_seq start with 1 increment by 50;
+
+create table establishments (
+    id bigint generated by default as identity,
+    address varchar(255) not null,
+    contact_phone varchar(255) not null,
+    description varchar(255),
+    name varchar(255) not null,
+    opening_hours text,
+    primary key (id)
+);
+
+create table food_banks (
+    id bigint generated by default as identity,
+    address varchar(255) not null,
+    contact_phone varchar(255) not null,
+    description varchar(255),
+    name varchar(255) not null,
+    opening_hours text,
+    primary key (id)
+);
+
+create table users (
+    id bigint generated by default as identity,
+    email varchar(255) not null unique,
+    password_hash varchar(255) not null,
+    role varchar(255) not null check (role in ('Establishment', 'FoodBank')),
+    establishment_id bigint unique,
+    foodbank_id bigint unique,
+    primary key (id)
+);
+
+create table donations (
+    id bigint not null,
+    establishment_id bigint not null,
+    product_name varchar(255) not null,
+    description varchar(255),
+    quantity integer not null,
+    unit varchar(255) not null,
+    expiration_date timestamp(6) not null,
+    photo_url varchar(255),
+    status varchar(255) not null check (status in ('RESERVED', 'COMPLETED', 'AVAILABLE')),
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    primary key (id)
+);
+
+create table donation_assignments (
+    id bigint generated by default as identity,
+    donation_id bigint not null unique,
+    food_bank_id bigint not null,
+    accepted_at timestamp(6) not null,
+    picked_up_at timestamp(6),
+    primary key (id)
+);
+
+alter table users add constraint fk_users_establishment foreign key (establishment_id) references establishments;
+alter table users add constraint fk_users_food_bank foreign key (foodbank_id) references food_banks;
+alter table donations add constraint fk_donations_establishment foreign key (establishment_id) references establishments;
+alter table donation_assignments add constraint fk_donation_assignments_donation foreign key (donation_id) references donations;
+alter table donation_assignments add constraint fk_donation_assignments_food_bank foreign key (food_bank_id) references food_banks;
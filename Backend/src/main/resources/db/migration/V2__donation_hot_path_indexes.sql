@@ -0,0 +1,14 @@
+-- Indexes matched to the DonationRepository / DonationAssignmentRepository queries.
+-- The donation_id side of donation_assignments is already covered by its unique constraint.
+
+-- findDTOByStatus, findFirstPageByExpirationDate, findPageByExpirationDate
+create index idx_donations_status_expiration on donations (status, expiration_date, id);
+
+-- findFirstPageByCreatedAt, findPageByCreatedAt
+create index idx_donations_status_created on donations (status, created_at, id);
+
+-- findDTOByEstablishmentId, findAllByEstablishmentId
+create index idx_donations_establishment_created on donations (establishment_id, created_at, id);
+
+-- findDTOByFoodBankId, findByFoodBankId
+create index idx_donation_assignments_food_bank on donation_assignments (food_bank_id, accepted_at, id);
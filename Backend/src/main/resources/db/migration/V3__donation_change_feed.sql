@@ -0,0 +1,11 @@
+-- Delta sync (GET /donations/changes): changed donations are read by (updated_at, id),
+-- deleted ones are remembered as tombstones read by (deleted_at, donation_id).
+create index idx_donations_updated on donations (updated_at, id);
+
+create table donation_tombstones (
+    donation_id bigint not null,
+    deleted_at timestamp(6) not null,
+    primary key (donation_id)
+);
+
+create index idx_donation_tombstones_deleted on donation_tombstones (deleted_at, donation_id);
@@ -0,0 +1,3 @@
+-- History export (GET /donations/export): creation date range walked in (created_at, id)
+-- order by a forward-only cursor, without sorting the table first.
+create index idx_donations_created on donations (created_at, id);
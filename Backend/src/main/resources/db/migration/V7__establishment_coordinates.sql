@@ -0,0 +1,7 @@
+-- Location of establishments and food banks for the nearby donation search
+-- (GET /donations/nearby). Null until the address has been geocoded; rows created before
+-- this migration are geocoded when the application starts.
+alter table establishments add column latitude double precision;
+alter table establishments add column longitude double precision;
+alter table food_banks add column latitude double precision;
+alter table food_banks add column longitude double precision;
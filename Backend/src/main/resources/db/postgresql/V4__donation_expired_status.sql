@@ -0,0 +1,4 @@
+-- Donations past their expiration date are moved to EXPIRED by DonationExpirySweeper.
+alter table donations drop constraint donations_status_check;
+alter table donations add constraint donations_status_check
+    check (status in ('RESERVED', 'COMPLETED', 'AVAILABLE', 'EXPIRED'));
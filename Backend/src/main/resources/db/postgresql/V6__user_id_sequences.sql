@@ -0,0 +1,10 @@
+-- Users, establishments and food banks take their ids from pooled sequences, like donations,
+-- so bulk onboarding can send its inserts as JDBC batches instead of one round trip per row.
+-- Each sequence starts one allocation past the highest id already used by the identity column.
+create sequence users_seq increment by 50;
+create sequence establishments_seq increment by 50;
+create sequence food_banks_seq increment by 50;
+
+select setval('users_seq', coalesce((select max(id) from users), 0) + 50, false);
+select setval('establishments_seq', coalesce((select max(id) from establishments), 0) + 50, false);
+select setval('food_banks_seq', coalesce((select max(id) from food_banks), 0) + 50, false);
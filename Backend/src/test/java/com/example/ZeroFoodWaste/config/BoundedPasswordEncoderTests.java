@@ -0,0 +1,63 @@
+package com.example.ZeroFoodWaste.config;
+
+import com.example.ZeroFoodWaste.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTests {
+
+    @Test
+    void refusesAtOnceWhenThePoolAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                new SlowEncoder(started, release), 1, 1, registry)) {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+            while (registry.get("security.password.hashing.queued").gauge().value() < 1) Thread.onSpinWait();
+
+            long begin = System.nanoTime();
+            assertThrows(PasswordHashingBusyException.class, () -> encoder.matches("third", "third"));
+            assertTrue(System.nanoTime() - begin < TimeUnit.SECONDS.toNanos(1), "rejection waited for the pool");
+            assertEquals(1, registry.get("security.password.hashing.rejected").counter().count());
+
+            release.countDown();
+            assertEquals("first", running.get(5, TimeUnit.SECONDS));
+            assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+            assertEquals(2, registry.get("security.password.hashing").tag("operation", "encode").timer().count());
+        }
+    }
+
+    /**
+     * Blocks every hash until released, standing in for a BCrypt rush.
+     */
+    private record SlowEncoder(CountDownLatch started, CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
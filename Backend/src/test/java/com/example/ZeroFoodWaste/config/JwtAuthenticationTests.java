@@ -0,0 +1,87 @@
+package com.example.ZeroFoodWaste.config;
+
+import com.example.ZeroFoodWaste.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtAuthenticationTests {
+
+    private static final String SECRET = "una-clave-larga-y-bien-aleatoria-para-hs256-123456";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JsonMapper jsonMapper;
+    @Autowired
+    private JwtUtils jwtUtils;
+    @Autowired
+    private JwtClaimsCache jwtClaimsCache;
+    @MockitoSpyBean
+    private UserService userService;
+
+    @Test
+    void bearerTokenAuthenticatesWithoutLoadingTheUser() throws Exception {
+        String login = mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"estab1@example.com\",\"password\":\"pass123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = jsonMapper.readTree(login).get("token").asString();
+        assertEquals(List.of("ROLE_Establishment"), jwtUtils.verify(token).authorities());
+
+        clearInvocations(userService);
+        long cached = jwtClaimsCache.size();
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/User").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.email").value("estab1@example.com"));
+        }
+        verify(userService, never()).loadUserByUsername(any());
+        assertEquals(cached + 1, jwtClaimsCache.size());
+    }
+
+    @Test
+    void queryParameterTokenStillWorks() throws Exception {
+        mockMvc.perform(get("/User").param("token", jwtUtils.generateToken("foodbank1@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("foodbank1@example.com"));
+    }
+
+    @Test
+    void invalidTokensAreRejectedAndNotCached() throws Exception {
+        String token = jwtUtils.generateToken("estab1@example.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String expired = new JwtUtils(SECRET, -1000).generateToken("estab1@example.com");
+        String otherKey = new JwtUtils(SECRET.replace('a', 'b'), 60_000).generateToken("estab1@example.com");
+
+        long cached = jwtClaimsCache.size();
+        for (String invalid : List.of(tampered, expired, otherKey, "not-a-jwt")) {
+            mockMvc.perform(get("/User").header(HttpHeaders.AUTHORIZATION, "Bearer " + invalid))
+                    .andExpect(status().isUnauthorized());
+            mockMvc.perform(get("/User").param("token", invalid))
+                    .andExpect(status().isUnauthorized());
+        }
+        mockMvc.perform(get("/User")).andExpect(status().isUnauthorized());
+        assertEquals(cached, jwtClaimsCache.size());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.ZeroFoodWaste.controller;
+
+import com.example.ZeroFoodWaste.config.QueryBudgetInterceptor;
+import com.example.ZeroFoodWaste.config.StatementTally;
+import com.example.ZeroFoodWaste.model.entity.User;
+import com.example.ZeroFoodWaste.model.enums.Role;
+import com.example.ZeroFoodWaste.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Test
+    void loginUpgradesAWeakerHash() throws Exception {
+        String email = "rehash@example.com";
+        userRepository.save(new User(null, email, new BCryptPasswordEncoder(4).encode("pass123"), Role.FoodBank));
+
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"pass123\"}"))
+                .andExpect(status().isOk());
+
+        String hash = userRepository.findByEmail(email).orElseThrow().getPasswordHash();
+        assertTrue(hash.startsWith("$2a$10$"), hash);
+        assertTrue(new BCryptPasswordEncoder().matches("pass123", hash));
+    }
+
+    @Test
+    void profileIsServedFromTheCacheAfterLogin() throws Exception {
+        String login = mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"foodbank2@example.com\",\"password\":\"pass123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = jsonMapper.readTree(login).get("token").asString();
+        Long foodBankId = userRepository.findByEmail("foodbank2@example.com").orElseThrow().getFoodBank().getId();
+
+        for (int i = 0; i < 2; i++) {
+            MvcResult result = mockMvc.perform(get("/User").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.foodBankId").value(foodBankId))
+                    .andReturn();
+            StatementTally tally = (StatementTally) result.getRequest().getAttribute(QueryBudgetInterceptor.TALLY_ATTRIBUTE);
+            assertEquals(0, tally.count());
+        }
+    }
+
+    @Test
+    void wrongPasswordIsStillRefused() throws Exception {
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"estab1@example.com\",\"password\":\"wrong\"}"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.ZeroFoodWaste.controller;
+
+import com.example.ZeroFoodWaste.event.DonationChangedEvent;
+import com.example.ZeroFoodWaste.event.EstablishmentChangedEvent;
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.EstablishmentResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import com.example.ZeroFoodWaste.repository.FoodBankRepository;
+import com.example.ZeroFoodWaste.service.AvailableDonationIndex;
+import com.example.ZeroFoodWaste.service.DonationChangeCounter;
+import com.example.ZeroFoodWaste.service.DonationService;
+import com.example.ZeroFoodWaste.service.EstablishmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Donation listings are tagged with {@link DonationChangeCounter#etag()}; the tag must change with
+ * every committed write that alters what a listing shows, including profile renames.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class DonationETagTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DonationService donationService;
+    @MockitoSpyBean
+    private DonationChangeCounter donationChangeCounter;
+    @Autowired
+    private AvailableDonationIndex availableDonationIndex;
+    @Autowired
+    private EstablishmentService establishmentService;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+    @Autowired
+    private FoodBankRepository foodBankRepository;
+
+    private Long establishmentId;
+    private Long foodBankId;
+
+    @BeforeEach
+    void setUp() {
+        establishmentId = establishmentRepository.findAll().get(0).getId();
+        foodBankId = foodBankRepository.findAll().get(0).getId();
+    }
+
+    @Test
+    void listingCarriesTheCurrentETag() throws Exception {
+        mockMvc.perform(get("/donations").param("status", "AVAILABLE"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, donationChangeCounter.etag()));
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWithoutABody() throws Exception {
+        String etag = currentETag();
+
+        mockMvc.perform(get("/donations").param("status", "AVAILABLE").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void donationWritesChangeTheETag() throws Exception {
+        String etag = currentETag();
+
+        donationService.createDonation(newDonation());
+
+        assertRefreshed(etag);
+    }
+
+    @Test
+    void establishmentChangesChangeTheETag() throws Exception {
+        String etag = currentETag();
+        String profile = mockMvc.perform(get("/establishment/" + establishmentId))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(patch("/establishment/" + establishmentId)
+                        .contentType(MediaType.APPLICATION_JSON).content(profile))
+                .andExpect(status().isOk());
+
+        assertRefreshed(etag);
+    }
+
+    @Test
+    void foodBankChangesChangeTheETag() throws Exception {
+        String etag = currentETag();
+        String profile = mockMvc.perform(get("/foodbank/" + foodBankId))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(patch("/foodbank/" + foodBankId)
+                        .contentType(MediaType.APPLICATION_JSON).content(profile))
+                .andExpect(status().isOk());
+
+        assertRefreshed(etag);
+    }
+
+    @Test
+    void theIndexIsUpToDateBeforeTheETagChanges() {
+        // what a request would list at the moment the counter hands out the new tag
+        List<String> listedWhenCounted = new ArrayList<>();
+        doAnswer(invocation -> {
+            Long id = invocation.<DonationChangedEvent>getArgument(0).donation().getId();
+            availableDonationIndex.all().stream().filter(dto -> dto.getId().equals(id))
+                    .forEach(dto -> listedWhenCounted.add(dto.getProductName()));
+            return invocation.callRealMethod();
+        }).when(donationChangeCounter).onDonationChanged(any());
+        doAnswer(invocation -> {
+            Long id = invocation.<EstablishmentChangedEvent>getArgument(0).establishment().getEstablishmentId();
+            availableDonationIndex.all().stream().filter(dto -> dto.getEstablishmentId().equals(id))
+                    .forEach(dto -> listedWhenCounted.add(dto.getEstablishment()));
+            return invocation.callRealMethod();
+        }).when(donationChangeCounter).onEstablishmentChanged(any());
+
+        DonationResponseDTO created = donationService.createDonation(newDonation());
+        assertEquals(List.of(created.getProductName()), listedWhenCounted);
+
+        listedWhenCounted.clear();
+        EstablishmentResponseDTO establishment = establishmentService.getEstablishment(establishmentId);
+        establishment.setName("Renamed for the ETag");
+        establishmentService.modifyEstablishment(establishmentId, establishment);
+        assertTrue(listedWhenCounted.contains("Renamed for the ETag"));
+        assertTrue(listedWhenCounted.stream().allMatch("Renamed for the ETag"::equals), listedWhenCounted.toString());
+    }
+
+    private String currentETag() throws Exception {
+        String etag = mockMvc.perform(get("/donations").param("status", "AVAILABLE"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    // the old tag no longer matches, the listing is sent again with the new one
+    private void assertRefreshed(String previous) throws Exception {
+        String etag = mockMvc.perform(get("/donations").param("status", "AVAILABLE")
+                        .header(HttpHeaders.IF_NONE_MATCH, previous))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(previous, etag);
+        assertEquals(donationChangeCounter.etag(), etag);
+    }
+
+    private NewDonationDTO newDonation() {
+        NewDonationDTO dto = new NewDonationDTO();
+        dto.setEstablishmentId(establishmentId);
+        dto.setProductName("ETag donation");
+        dto.setQuantity(1);
+        dto.setUnit("kg");
+        dto.setExpirationDate(LocalDateTime.now().plusDays(1));
+        return dto;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.ZeroFoodWaste.controller;
+
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.model.entity.Establishment;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import com.example.ZeroFoodWaste.repository.FoodBankRepository;
+import com.example.ZeroFoodWaste.service.DonationService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Walks GET /donations page by page through {@value DonationController#NEXT_CURSOR_HEADER}. Every
+ * test files its donations under a unit of its own so rows left by other tests never show up.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class DonationPaginationTests {
+
+    private static final int DONATIONS = 7;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+    @Autowired
+    private FoodBankRepository foodBankRepository;
+
+    private List<Establishment> establishments;
+    private String unit;
+
+    @BeforeEach
+    void setUp() {
+        establishments = establishmentRepository.findAll();
+        unit = "pg-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void availablePagesByExpirationHaveNoGapsOrDuplicatesOnTies() throws Exception {
+        List<Long> created = createTied(establishments.get(0).getId());
+
+        List<Long> walked = walk(() -> listing("AVAILABLE").param("unit", unit), 2);
+
+        assertEquals(new HashSet<>(created), new HashSet<>(walked));
+        assertEquals(created.size(), walked.size());
+        // equal expiration dates fall back to the id
+        assertEquals(created.stream().sorted().toList(), walked);
+    }
+
+    @Test
+    void reservedPagesByExpirationHaveNoGapsOrDuplicatesOnTies() throws Exception {
+        List<Long> created = createTied(establishments.get(0).getId());
+        Long foodBankId = foodBankRepository.findAll().get(0).getId();
+        for (Long id : created) donationService.acceptDonation(id, foodBankId);
+
+        List<Long> walked = walk(() -> listing("RESERVED").param("unit", unit), 3);
+
+        assertEquals(created.stream().sorted().toList(), walked);
+    }
+
+    @Test
+    void pagesByCreatedAtFollowCreationOrder() throws Exception {
+        List<Long> created = createTied(establishments.get(0).getId());
+
+        List<Long> walked = walk(() -> listing("AVAILABLE").param("unit", unit).param("sort", "createdAt"), 2);
+
+        assertEquals(created, walked);
+    }
+
+    @Test
+    void establishmentFilterOnlyReturnsItsDonations() throws Exception {
+        Long first = establishments.get(0).getId();
+        Long second = establishments.get(1).getId();
+        List<Long> ofFirst = createTied(first);
+        createTied(second);
+
+        List<Long> walked = walk(() -> listing("AVAILABLE").param("unit", unit)
+                .param("establishmentId", first.toString()), 2);
+
+        assertEquals(ofFirst, walked);
+    }
+
+    @Test
+    void withoutLimitOrCursorTheWholeListIsReturned() throws Exception {
+        List<Long> created = createTied(establishments.get(0).getId());
+
+        MvcResult result = mockMvc.perform(listing("AVAILABLE").param("unit", unit))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertNull(result.getResponse().getHeader(DonationController.NEXT_CURSOR_HEADER));
+        assertEquals(created, ids(result));
+    }
+
+    @Test
+    void badCursorIsRejected() throws Exception {
+        mockMvc.perform(listing("AVAILABLE").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        // a cursor issued for one sort cannot continue another
+        String cursor = mockMvc.perform(listing("AVAILABLE").param("limit", "1"))
+                .andReturn().getResponse().getHeader(DonationController.NEXT_CURSOR_HEADER);
+        if (cursor != null) {
+            mockMvc.perform(listing("AVAILABLE").param("sort", "createdAt").param("cursor", cursor))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void unknownSortIsRejected() throws Exception {
+        mockMvc.perform(listing("AVAILABLE").param("sort", "price"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(listing("AVAILABLE").param("sort", "price").param("limit", "2"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<Long> walk(Supplier<MockHttpServletRequestBuilder> listing, int limit) throws Exception {
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = listing.get().param("limit", Integer.toString(limit));
+            if (cursor != null) request.param("cursor", cursor);
+            MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+            List<Long> page = ids(result);
+            assertTrue(page.size() <= limit);
+            walked.addAll(page);
+            cursor = result.getResponse().getHeader(DonationController.NEXT_CURSOR_HEADER);
+            assertTrue(++pages <= DONATIONS, "the walk never ends");
+        } while (cursor != null);
+        return walked;
+    }
+
+    private MockHttpServletRequestBuilder listing(String status) {
+        return get("/donations").param("status", status);
+    }
+
+    private List<Long> ids(MvcResult result) throws Exception {
+        List<Number> ids = JsonPath.read(result.getResponse().getContentAsString(), "$[*].id");
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    // every donation expires at the same instant, ids ascend with creation
+    private List<Long> createTied(Long establishmentId) {
+        LocalDateTime expiration = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.SECONDS);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < DONATIONS; i++) {
+            NewDonationDTO dto = new NewDonationDTO();
+            dto.setEstablishmentId(establishmentId);
+            dto.setProductName("Page " + i);
+            dto.setQuantity(1);
+            dto.setUnit(unit);
+            dto.setExpirationDate(expiration);
+            ids.add(donationService.createDonation(dto).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.ZeroFoodWaste.controller;
+
+import com.example.ZeroFoodWaste.config.QueryBudget;
+import com.example.ZeroFoodWaste.config.QueryBudgetInterceptor;
+import com.example.ZeroFoodWaste.config.StatementTally;
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import com.example.ZeroFoodWaste.repository.FoodBankRepository;
+import com.example.ZeroFoodWaste.service.DonationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Every endpoint of the donation, food bank, establishment, session and matching controllers
+ * declares a {@link QueryBudget}; each one is called here on a cold cache and must stay within
+ * it and never repeat a select the way an N+1 does.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryBudgetTests {
+
+    private static final Set<Class<?>> BUDGETED = Set.of(
+            DonationController.class, FoodBankController.class, EstablishmentController.class, SessionController.class,
+            MatchingController.class);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+    @Autowired
+    private FoodBankRepository foodBankRepository;
+
+    private Long establishmentId;
+    private Long foodBankId;
+
+    @BeforeEach
+    void setUp() {
+        establishmentId = establishmentRepository.findAll().get(0).getId();
+        foodBankId = foodBankRepository.findAll().get(0).getId();
+    }
+
+    @Test
+    void everyEndpointDeclaresABudget() {
+        handlerMapping.getHandlerMethods().forEach((mapping, method) -> {
+            if (BUDGETED.contains(method.getBeanType())) {
+                assertNotNull(method.getMethodAnnotation(QueryBudget.class), mapping + " has no @QueryBudget");
+            }
+        });
+    }
+
+    @Test
+    void readsStayWithinBudget() throws Exception {
+        Long reserved = donationService.createDonation(newDonation("Budget reserved")).getId();
+        donationService.acceptDonation(reserved, foodBankId);
+        for (int i = 0; i < 3; i++) donationService.createDonation(newDonation("Budget read " + i));
+
+        call(get("/donations").param("status", "AVAILABLE"));
+        call(get("/donations").param("status", "RESERVED"));
+        call(get("/donations").param("status", "RESERVED").param("sort", "createdAt"));
+        call(get("/donations/establishment/" + establishmentId));
+        call(get("/donations/changes"));
+        call(get("/donations/export"));
+        call(get("/foodbank/" + foodBankId + "/donations"));
+        call(get("/donations/" + reserved));
+        call(get("/donations/reserved").param("foodBankId", foodBankId.toString()));
+        call(get("/donations/nearby").param("lat", "40.4168").param("lon", "-3.7038").param("radiusKm", "50"));
+        call(get("/matching/proposals").param("foodBankId", foodBankId.toString()));
+        call(get("/foodbank/" + foodBankId));
+        call(get("/establishment/" + establishmentId));
+    }
+
+    @Test
+    void writesStayWithinBudget() throws Exception {
+        Long first = donationService.createDonation(newDonation("Budget first")).getId();
+        Long second = donationService.createDonation(newDonation("Budget second")).getId();
+        Long third = donationService.createDonation(newDonation("Budget third")).getId();
+        String row = """
+                {"establishmentId":%d,"productName":"Budget row","quantity":1,"unit":"kg","expirationDate":"%s"}"""
+                .formatted(establishmentId, LocalDateTime.now().plusDays(1).withNano(0));
+
+        call(post("/donations").contentType(MediaType.APPLICATION_JSON).content(row));
+        call(post("/donations/bulk").contentType(MediaType.APPLICATION_JSON).content("[" + row + "," + row + "," + row + "]"));
+        call(post("/donations/import").contentType("application/x-ndjson").content(row + "\n" + row + "\n"));
+        call(post("/donations/" + first + "/accept/" + foodBankId));
+        call(post("/donations/accept/" + foodBankId).contentType(MediaType.APPLICATION_JSON)
+                .content("[" + second + "," + first + ",-1]"));
+        call(post("/donations/" + first + "/pickup"));
+        call(post("/donations/" + second + "/cancel/" + foodBankId));
+        call(put("/donations/" + third).contentType(MediaType.APPLICATION_JSON).content("""
+                {"id":%d,"productName":"Budget renamed","quantity":2,"unit":"kg","expirationDate":"%s","status":"AVAILABLE"}"""
+                .formatted(third, LocalDateTime.now().plusDays(2).withNano(0))));
+        call(delete("/donations/" + third));
+        call(post("/matching/run"));
+        call(patch("/foodbank/" + foodBankId).contentType(MediaType.APPLICATION_JSON)
+                .content(mockMvc.perform(get("/foodbank/" + foodBankId)).andReturn().getResponse().getContentAsString()));
+        call(patch("/establishment/" + establishmentId).contentType(MediaType.APPLICATION_JSON)
+                .content(mockMvc.perform(get("/establishment/" + establishmentId)).andReturn().getResponse().getContentAsString()));
+    }
+
+    private void call(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        String endpoint = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        assertTrue(result.getResponse().getStatus() < 400,
+                endpoint + " answered " + result.getResponse().getStatus() + " " + result.getResponse().getContentAsString());
+        StatementTally tally = (StatementTally) result.getRequest().getAttribute(QueryBudgetInterceptor.TALLY_ATTRIBUTE);
+        assertNotNull(tally, endpoint + " was not counted");
+        QueryBudget budget = ((HandlerMethod) result.getHandler()).getMethodAnnotation(QueryBudget.class);
+        assertTrue(tally.count() <= budget.value(),
+                endpoint + " ran " + tally.count() + " statements, budget " + budget.value());
+        assertTrue(tally.repeated(3).isEmpty(), endpoint + " repeated " + tally.repeated(3));
+    }
+
+    private NewDonationDTO newDonation(String productName) {
+        NewDonationDTO dto = new NewDonationDTO();
+        dto.setEstablishmentId(establishmentId);
+        dto.setProductName(productName);
+        dto.setQuantity(1);
+        dto.setUnit("kg");
+        dto.setExpirationDate(LocalDateTime.now().plusDays(1));
+        return dto;
+    }
+}
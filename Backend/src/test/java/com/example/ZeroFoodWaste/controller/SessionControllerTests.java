@@ -0,0 +1,96 @@
+package com.example.ZeroFoodWaste.controller;
+
+import com.example.ZeroFoodWaste.config.JwtUtils;
+import com.example.ZeroFoodWaste.config.QueryBudgetInterceptor;
+import com.example.ZeroFoodWaste.config.StatementTally;
+import com.example.ZeroFoodWaste.model.entity.User;
+import com.example.ZeroFoodWaste.repository.UserRepository;
+import com.example.ZeroFoodWaste.service.DonationService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SessionControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtils jwtUtils;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void establishmentGetsItsProfileAndFirstDonations() throws Exception {
+        User user = userRepository.findByEmail("estab1@example.com").orElseThrow();
+        String token = jwtUtils.generateToken(user.getEmail());
+
+        bootstrap(token)
+                .andExpect(jsonPath("$.user.email").value("estab1@example.com"))
+                .andExpect(jsonPath("$.establishment.establishmentId").value(user.getEstablishment().getId()))
+                .andExpect(jsonPath("$.foodBank").doesNotExist())
+                .andExpect(jsonPath("$.donations[0].establishmentId").value(user.getEstablishment().getId()));
+
+        // user and profile are cached now, only the donation list is read
+        assertTrue(statements(bootstrap(token).andReturn()) <= 1);
+    }
+
+    @Test
+    void establishmentPageIsThePrefixOfItsFullList() throws Exception {
+        User user = userRepository.findByEmail("estab1@example.com").orElseThrow();
+        String token = jwtUtils.generateToken(user.getEmail());
+
+        String session = bootstrap(token).andReturn().getResponse().getContentAsString();
+        String full = mockMvc.perform(get("/donations/establishment/" + user.getEstablishment().getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<Object> page = JsonPath.read(session, "$.donations[*].id");
+        List<Object> all = JsonPath.read(full, "$[*].id");
+        assertEquals(all.subList(0, page.size()), page);
+        assertEquals(all.size() > DonationService.DEFAULT_PAGE_SIZE, JsonPath.<Boolean>read(session, "$.hasMore"));
+    }
+
+    @Test
+    void foodBankGetsItsProfileAndTheFirstAvailablePage() throws Exception {
+        User user = userRepository.findByEmail("foodbank1@example.com").orElseThrow();
+        String token = jwtUtils.generateToken(user.getEmail());
+
+        bootstrap(token)
+                .andExpect(jsonPath("$.foodBank.id").value(user.getFoodBank().getId()))
+                .andExpect(jsonPath("$.establishment").doesNotExist())
+                .andExpect(jsonPath("$.donations[0].status").value("AVAILABLE"));
+
+        assertEquals(0, statements(bootstrap(token).andReturn()));
+    }
+
+    @Test
+    void needsABearerToken() throws Exception {
+        mockMvc.perform(get("/me/bootstrap")).andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions bootstrap(String token) throws Exception {
+        return mockMvc.perform(get("/me/bootstrap").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private int statements(MvcResult result) {
+        return ((StatementTally) result.getRequest().getAttribute(QueryBudgetInterceptor.TALLY_ATTRIBUTE)).count();
+    }
+}
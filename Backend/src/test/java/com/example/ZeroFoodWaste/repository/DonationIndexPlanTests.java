@@ -0,0 +1,121 @@
+package com.example.ZeroFoodWaste.repository;
+
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the SQL that the repositories actually generate through EXPLAIN and checks
+ * that the planner picks the index added for it in the migrations.
+ * <p>
+ * Unlike PostgreSQL, H2 backs every foreign key with a single-column index of its own and
+ * prefers it for equality on that column. When the plan uses one of those, the statement is
+ * explained again with a USE INDEX hint and the migration's index must serve the lookup.
+ */
+@SpringBootTest
+class DonationIndexPlanTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private DonationRepository donationRepository;
+    @Autowired
+    private DonationAssignmentRepository assignmentRepository;
+    @Autowired
+    private DonationTombstoneRepository tombstoneRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void statusListingUsesStatusExpirationIndex() {
+        assertPlanUses("idx_donations_status_expiration",
+                () -> donationRepository.findDTOByStatus(DonationStatus.AVAILABLE),
+                DonationStatus.AVAILABLE.name());
+    }
+
+    @Test
+    void expirationKeysetPageUsesStatusExpirationIndex() {
+        assertPlanUses("idx_donations_status_expiration",
+                () -> donationRepository.findPageByExpirationDate(DonationStatus.AVAILABLE, null, null,
+                        NOW, 1L, Limit.of(10)),
+                DonationStatus.AVAILABLE.name(), null, null, null, null, NOW, NOW, 1L, 10);
+    }
+
+    @Test
+    void createdAtKeysetPageUsesStatusCreatedIndex() {
+        assertPlanUses("idx_donations_status_created",
+                () -> donationRepository.findPageByCreatedAt(DonationStatus.AVAILABLE, null, null,
+                        NOW, 1L, Limit.of(10)),
+                DonationStatus.AVAILABLE.name(), null, null, null, null, NOW, NOW, 1L, 10);
+    }
+
+    @Test
+    void establishmentListingUsesEstablishmentCreatedIndex() {
+        assertPlanUses("idx_donations_establishment_created",
+                () -> donationRepository.findDTOByEstablishmentId(1L), 1L);
+    }
+
+    @Test
+    void foodBankListingUsesFoodBankIndex() {
+        assertPlanUses("idx_donation_assignments_food_bank",
+                () -> donationRepository.findDTOByFoodBankId(1L), 1L);
+    }
+
+    @Test
+    void assignmentsByFoodBankUseFoodBankIndex() {
+        assertPlanUses("idx_donation_assignments_food_bank",
+                () -> assignmentRepository.findByFoodBankId(1L), 1L);
+    }
+
+    @Test
+    void changeFeedUsesUpdatedIndex() {
+        assertPlanUses("idx_donations_updated",
+                () -> donationRepository.findChangesAfter(NOW, 1L, Limit.of(10)), NOW, NOW, 1L, 10);
+    }
+
+    @Test
+    void tombstoneFeedUsesDeletedIndex() {
+        assertPlanUses("idx_donation_tombstones_deleted",
+                () -> tombstoneRepository.findChangesAfter(NOW, 1L, Limit.of(10)), NOW, NOW, 1L, 10);
+    }
+
+    private void assertPlanUses(String index, Runnable query, Object... parameters) {
+        RecordingStatementInspector.clear();
+        query.run();
+        List<String> statements = RecordingStatementInspector.statements();
+        assertEquals(1, statements.size(), "expected a single statement but got " + statements);
+
+        String sql = statements.get(0);
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class, parameters).toLowerCase();
+        if (!plan.contains(index) && H2_FOREIGN_KEY_INDEX.matcher(plan).find()) {
+            String hinted = jdbcTemplate.queryForObject("explain " + hint(sql, index), String.class, parameters);
+            // "index: column = ?" is a lookup, a bare "index" comment would be a full index scan
+            assertTrue(hinted.toLowerCase().contains(index + ":"), index + " cannot serve the query:\n" + hinted);
+            return;
+        }
+        assertTrue(plan.contains(index), "planner did not use " + index + ":\n" + plan);
+    }
+
+    private static final Pattern H2_FOREIGN_KEY_INDEX = Pattern.compile("public\\.fk_\\w+_index_\\w+:");
+
+    // adds USE INDEX to the reference of the table the index belongs to
+    private String hint(String sql, String index) {
+        String table = jdbcTemplate.queryForObject(
+                "select table_name from information_schema.indexes where lower(index_name) = ?", String.class, index);
+        Matcher reference = Pattern.compile("\\b(from|join)\\s+" + table + "\\s+(\\w+)", Pattern.CASE_INSENSITIVE)
+                .matcher(sql);
+        assertTrue(reference.find(), table + " not found in " + sql);
+        return sql.substring(0, reference.end()) + " use index (" + index + ")" + sql.substring(reference.end());
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.ZeroFoodWaste.repository;
+
+import com.example.ZeroFoodWaste.config.StatementCountInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the SQL Hibernate generates so tests can inspect it, registered through
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}. Extends the
+ * application's inspector so per-request counting keeps working in tests.
+ */
+public class RecordingStatementInspector extends StatementCountInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return super.inspect(sql);
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+}
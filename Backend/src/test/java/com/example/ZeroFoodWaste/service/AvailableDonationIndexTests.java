@@ -0,0 +1,220 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.event.DonationChangedEvent;
+import com.example.ZeroFoodWaste.exception.InvalidCoordinatesException;
+import com.example.ZeroFoodWaste.model.dto.DonationPageDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.EstablishmentResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.model.entity.Establishment;
+import com.example.ZeroFoodWaste.model.enums.DonationChangeType;
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import com.example.ZeroFoodWaste.repository.DonationRepository;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import com.example.ZeroFoodWaste.repository.FoodBankRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class AvailableDonationIndexTests {
+
+    @Autowired
+    private AvailableDonationIndex index;
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private EstablishmentService establishmentService;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+    @Autowired
+    private FoodBankRepository foodBankRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void followsCommittedLifecycleChanges() {
+        assertTrue(index.isReady());
+        Long foodBankId = foodBankRepository.findAll().get(0).getId();
+        DonationResponseDTO created = donationService.createDonation(newDonation(LocalDateTime.now().plusHours(1)));
+        assertTrue(ids().contains(created.getId()));
+
+        donationService.acceptDonation(created.getId(), foodBankId);
+        assertFalse(ids().contains(created.getId()));
+
+        donationService.cancelReservation(created.getId(), foodBankId);
+        assertTrue(ids().contains(created.getId()));
+
+        donationService.deleteDonation(created.getId());
+        assertFalse(ids().contains(created.getId()));
+        assertTrue(index.verify().isConsistent());
+    }
+
+    @Test
+    void pagesInExpirationOrderWithCursor() {
+        for (int i = 0; i < 5; i++) {
+            donationService.createDonation(newDonation(LocalDateTime.now().plusYears(1).plusMinutes(i)));
+        }
+        List<DonationResponseDTO> all = index.all();
+        DonationPageDTO first = index.page(null, 3, null, null);
+        assertEquals(all.subList(0, 3), first.getItems());
+        assertNotNull(first.getNextCursor());
+
+        DonationPageDTO second = donationService.getDonationPage("AVAILABLE", null, first.getNextCursor(), 3, null, null);
+        assertEquals(all.get(3), second.getItems().get(0));
+        for (int i = 1; i < all.size(); i++) {
+            assertFalse(all.get(i).getExpirationDate().isBefore(all.get(i - 1).getExpirationDate()));
+        }
+    }
+
+    @Test
+    void verifyRepairsDriftFromTheTable() {
+        DonationResponseDTO created = donationService.createDonation(newDonation(LocalDateTime.now().plusDays(3)));
+        jdbcTemplate.update("update donations set status = 'COMPLETED' where id = ?", created.getId());
+
+        AvailableDonationIndex.ConsistencyReport report = index.verify();
+        assertEquals(List.of(created.getId()), report.extra());
+        assertFalse(ids().contains(created.getId()));
+        assertTrue(index.verify().isConsistent());
+    }
+
+    @Test
+    void findsNearbyDonationsAcrossTheAntimeridian() {
+        GeoPoint center = new GeoPoint(-45.0, 179.995);
+        Long west = store(-45.0, 179.99);
+        Long east = store(-45.0, -179.97);
+        Long far = store(-45.3, 179.99);
+        DonationResponseDTO later = donationService.createDonation(newDonation(west, LocalDateTime.now().plusDays(2)));
+        DonationResponseDTO sooner = donationService.createDonation(newDonation(west, LocalDateTime.now().plusDays(1)));
+        DonationResponseDTO across = donationService.createDonation(newDonation(east, LocalDateTime.now().plusHours(1)));
+        DonationResponseDTO outside = donationService.createDonation(newDonation(far, LocalDateTime.now().plusHours(1)));
+
+        // same establishment, same distance: the one expiring first comes first
+        assertEquals(List.of(sooner.getId(), later.getId(), across.getId()), nearbyIds(center, 5, 10));
+        assertEquals(List.of(sooner.getId(), later.getId()), nearbyIds(center, 5, 2));
+        assertEquals(outside.getId(), nearbyIds(center, 50, 10).get(3));
+        assertTrue(index.nearby(center, 5, 10).get(2).getDistanceKm() < 5);
+
+        donationService.acceptDonation(sooner.getId(), foodBankRepository.findAll().get(0).getId());
+        assertEquals(List.of(later.getId(), across.getId()), nearbyIds(center, 5, 10));
+    }
+
+    @Test
+    void followsEstablishmentMovesAndRenames() {
+        Long storeId = store(10.0, 10.0);
+        DonationResponseDTO created = donationService.createDonation(newDonation(storeId, LocalDateTime.now().plusDays(1)));
+        assertEquals(List.of(created.getId()), nearbyIds(new GeoPoint(10.0, 10.0), 1, 10));
+
+        EstablishmentResponseDTO changes = establishmentService.getEstablishment(storeId);
+        changes.setName("Moved store");
+        changes.setAddress("Somewhere else 42");
+        EstablishmentResponseDTO moved = establishmentService.modifyEstablishment(storeId, changes);
+
+        GeoPoint position = new GeoPoint(moved.getLatitude(), moved.getLongitude());
+        assertTrue(nearbyIds(new GeoPoint(10.0, 10.0), 1, 10).isEmpty());
+        assertEquals(List.of(created.getId()), nearbyIds(position, 1, 10));
+        DonationResponseDTO indexed = index.all().stream()
+                .filter(dto -> dto.getId().equals(created.getId())).findFirst().orElseThrow();
+        assertEquals("Moved store", indexed.getEstablishment());
+        assertEquals(moved.getLatitude(), indexed.getLatitude());
+        assertEquals(moved.getLongitude(), indexed.getLongitude());
+    }
+
+    @Test
+    void readsHandOutCopies() {
+        Long storeId = store(20.0, 20.0);
+        DonationResponseDTO created = donationService.createDonation(newDonation(storeId, LocalDateTime.now().plusDays(1)));
+        // repair whatever other tests left behind, so only changes made here can show up as stale
+        index.verify();
+
+        index.all().forEach(dto -> dto.setProductName("changed by a reader"));
+        index.page(null, 1000, storeId, null).getItems().forEach(dto -> dto.setProductName("changed by a reader"));
+        index.nearby(new GeoPoint(20.0, 20.0), 1, 10).forEach(nearby -> nearby.getDonation().setLatitude(0.0));
+
+        DonationResponseDTO indexed = index.page(null, 1000, storeId, null).getItems().get(0);
+        assertEquals(created.getProductName(), indexed.getProductName());
+        assertEquals(List.of(created.getId()), nearbyIds(new GeoPoint(20.0, 20.0), 1, 10));
+        assertTrue(index.verify().isConsistent());
+    }
+
+    @Test
+    void rebuildKeepsChangesCommittedWhileItReadsTheTable() {
+        DonationRepository repository = mock(DonationRepository.class);
+        AvailableDonationIndex rebuilt = new AvailableDonationIndex(repository);
+        DonationResponseDTO renamed = available(1L, "Renamed while loading");
+        DonationResponseDTO created = available(2L, "Created while loading");
+        when(repository.findDTOByStatus(DonationStatus.AVAILABLE)).thenAnswer(invocation -> {
+            // both commit after the snapshot was taken, it still has the old name and no second donation
+            rebuilt.onDonationChanged(new DonationChangedEvent(DonationChangeType.UPDATED, DonationStatus.AVAILABLE, renamed));
+            rebuilt.onDonationChanged(new DonationChangedEvent(DonationChangeType.CREATED, null, created));
+            return List.of(available(1L, "Before loading"));
+        });
+
+        rebuilt.rebuild();
+
+        assertTrue(rebuilt.isReady());
+        assertEquals(List.of(renamed, created), rebuilt.all());
+    }
+
+    @Test
+    void rejectsInvalidCoordinates() {
+        assertThrows(InvalidCoordinatesException.class, () -> donationService.getNearbyDonations(91, 0, null, null));
+        assertThrows(InvalidCoordinatesException.class, () -> donationService.getNearbyDonations(0, Double.NaN, null, null));
+    }
+
+    private DonationResponseDTO available(Long id, String productName) {
+        DonationResponseDTO dto = new DonationResponseDTO();
+        dto.setId(id);
+        dto.setEstablishmentId(-1L);
+        dto.setProductName(productName);
+        dto.setStatus(DonationStatus.AVAILABLE.name());
+        dto.setExpirationDate(LocalDateTime.now().plusDays(id));
+        return dto;
+    }
+
+    private List<Long> nearbyIds(GeoPoint center, double radiusKm, int limit) {
+        return index.nearby(center, radiusKm, limit).stream().map(nearby -> nearby.getDonation().getId()).toList();
+    }
+
+    private Long store(double latitude, double longitude) {
+        Establishment store = new Establishment();
+        store.setName("Nearby store");
+        store.setAddress("Nearby avenue");
+        store.setContactPhone("555-0100");
+        store.setLatitude(latitude);
+        store.setLongitude(longitude);
+        return establishmentRepository.save(store).getId();
+    }
+
+    private List<Long> ids() {
+        return index.all().stream().map(DonationResponseDTO::getId).toList();
+    }
+
+    private NewDonationDTO newDonation(LocalDateTime expiration) {
+        return newDonation(establishmentRepository.findAll().get(0).getId(), expiration);
+    }
+
+    private NewDonationDTO newDonation(Long establishmentId, LocalDateTime expiration) {
+        NewDonationDTO dto = new NewDonationDTO();
+        dto.setEstablishmentId(establishmentId);
+        dto.setProductName("Index test");
+        dto.setDescription("Index test");
+        dto.setQuantity(1);
+        dto.setUnit("kg");
+        dto.setExpirationDate(expiration);
+        dto.setStatus("AVAILABLE");
+        return dto;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.model.entity.Establishment;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Rows per second of {@link DonationService#createDonations} against one
+ * {@link DonationService#createDonation} call per row, on a seeded dataset of stores.
+ * <p>
+ * Only runs on demand: {@code mvn test -Dtest=BulkIngestBenchmark -Dbenchmark=true}
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BulkIngestBenchmark {
+
+    private static final int STORES = 20;
+    private static final int ROWS_PER_REQUEST = 1000;
+    private static final int REQUESTS = 10;
+
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    @Test
+    void reportRowsPerSecond() {
+        List<Long> stores = seedStores();
+        Random random = new Random(42);
+        donationService.createDonations(rows(stores, random)); // warm-up
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            assertEquals(ROWS_PER_REQUEST, donationService.createDonations(rows(stores, random)).getCreated());
+        }
+        double bulkSeconds = (System.nanoTime() - begin) / 1e9;
+
+        begin = System.nanoTime();
+        for (NewDonationDTO row : rows(stores, random)) {
+            donationService.createDonation(row);
+        }
+        double singleSeconds = (System.nanoTime() - begin) / 1e9;
+
+        System.out.printf("%nbulk   : %d rows in %.2f s, %.0f rows/sec%n",
+                REQUESTS * ROWS_PER_REQUEST, bulkSeconds, REQUESTS * ROWS_PER_REQUEST / bulkSeconds);
+        System.out.printf("single : %d rows in %.2f s, %.0f rows/sec%n",
+                ROWS_PER_REQUEST, singleSeconds, ROWS_PER_REQUEST / singleSeconds);
+    }
+
+    private List<Long> seedStores() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < STORES; i++) {
+            Establishment store = new Establishment();
+            store.setName("Benchmark store " + i);
+            store.setAddress("Benchmark avenue " + i);
+            store.setContactPhone("555-77" + i);
+            ids.add(establishmentRepository.save(store).getId());
+        }
+        return ids;
+    }
+
+    private List<NewDonationDTO> rows(List<Long> stores, Random random) {
+        List<NewDonationDTO> rows = new ArrayList<>(ROWS_PER_REQUEST);
+        for (int i = 0; i < ROWS_PER_REQUEST; i++) {
+            NewDonationDTO dto = new NewDonationDTO();
+            dto.setEstablishmentId(stores.get(random.nextInt(stores.size())));
+            dto.setProductName("Surplus item " + i);
+            dto.setDescription("End of day surplus");
+            dto.setQuantity(1 + random.nextInt(20));
+            dto.setUnit(random.nextBoolean() ? "kg" : "units");
+            dto.setExpirationDate(LocalDateTime.now().plusHours(12 + random.nextInt(72)));
+            rows.add(dto);
+        }
+        return rows;
+    }
+}
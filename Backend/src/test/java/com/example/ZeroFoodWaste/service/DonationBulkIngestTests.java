@@ -0,0 +1,92 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.exception.InvalidRowsException;
+import com.example.ZeroFoodWaste.model.dto.DonationBulkResultDTO;
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.model.dto.RowErrorDTO;
+import com.example.ZeroFoodWaste.model.entity.Establishment;
+import com.example.ZeroFoodWaste.repository.DonationRepository;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class DonationBulkIngestTests {
+
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private DonationRepository donationRepository;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void insertsInBatchesWithOneEstablishmentLookupPerBatch() {
+        List<Long> establishments = establishmentRepository.findAll().stream().map(Establishment::getId).toList();
+        List<NewDonationDTO> rows = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            rows.add(newDonation(establishments.get(i % establishments.size()), "Bulk " + i));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        DonationBulkResultDTO result = donationService.createDonations(rows);
+
+        assertEquals(120, result.getCreated());
+        assertEquals(120, statistics.getEntityInsertCount());
+        // establishments + 3 sequence calls + one insert statement per 50-row batch, not one per row
+        assertTrue(statistics.getPrepareStatementCount() < 20,
+                "prepared " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals("Bulk 119", donationRepository.findById(result.getIds().get(119)).orElseThrow().getProductName());
+    }
+
+    @Test
+    void reportsEveryInvalidRowAndSavesNothing() {
+        Long establishmentId = establishmentRepository.findAll().get(0).getId();
+        NewDonationDTO noUnit = newDonation(establishmentId, "No unit");
+        noUnit.setUnit(" ");
+        NewDonationDTO expired = newDonation(establishmentId, "Expired");
+        expired.setExpirationDate(LocalDateTime.now().minusDays(1));
+        List<NewDonationDTO> rows = List.of(newDonation(establishmentId, "Fine"), noUnit,
+                newDonation(-1L, "Unknown establishment"), expired);
+
+        long before = donationRepository.count();
+        InvalidRowsException e = assertThrows(InvalidRowsException.class, () -> donationService.createDonations(rows));
+        assertEquals(List.of(2L, 3L, 4L), e.getErrors().stream().map(RowErrorDTO::getRow).toList());
+        assertEquals(before, donationRepository.count());
+    }
+
+    @Test
+    void descriptionIsOptional() {
+        NewDonationDTO dto = newDonation(establishmentRepository.findAll().get(0).getId(), "No description");
+        dto.setDescription(null);
+        dto.setStatus("AVAILABLE");
+        assertNull(donationService.createDonation(dto).getDescription());
+    }
+
+    private NewDonationDTO newDonation(Long establishmentId, String productName) {
+        NewDonationDTO dto = new NewDonationDTO();
+        dto.setEstablishmentId(establishmentId);
+        dto.setProductName(productName);
+        dto.setDescription("End of day surplus");
+        dto.setQuantity(3);
+        dto.setUnit("kg");
+        dto.setExpirationDate(LocalDateTime.now().plusDays(1));
+        return dto;
+    }
+}
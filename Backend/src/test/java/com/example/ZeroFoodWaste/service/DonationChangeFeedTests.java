@@ -0,0 +1,136 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.exception.ChangeCursorExpiredException;
+import com.example.ZeroFoodWaste.model.dto.DonationChangeDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationChangesDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class DonationChangeFeedTests {
+
+    @Autowired
+    private DonationChangeFeed changeFeed;
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void returnsChangesAndTombstonesAfterTheCursor() {
+        String cursor = drain(null, 2, new HashSet<>());
+
+        DonationResponseDTO kept = donationService.createDonation(newDonation());
+        DonationResponseDTO removed = donationService.createDonation(newDonation());
+        DonationChangesDTO created = changeFeed.getChanges(cursor, null);
+        assertTrue(ids(created.getChanged()).containsAll(List.of(kept.getId(), removed.getId())));
+
+        donationService.deleteDonation(removed.getId());
+        DonationChangesDTO afterDelete = changeFeed.getChanges(cursor, null);
+        assertTrue(ids(afterDelete.getChanged()).contains(kept.getId()));
+        assertFalse(ids(afterDelete.getChanged()).contains(removed.getId()));
+        assertEquals(List.of(removed.getId()), afterDelete.getDeleted());
+    }
+
+    @Test
+    void walksRowsWithTheSameTimestampOneByOne() {
+        LocalDateTime collision = LocalDateTime.now().minusDays(1).withNano(0);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Long id = donationService.createDonation(newDonation()).getId();
+            jdbcTemplate.update("update donations set updated_at = ? where id = ?", collision, id);
+            expected.add(id);
+        }
+
+        String cursor = new DonationChangeCursor(collision.minusSeconds(1), 0L).encode();
+        List<Long> seen = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            DonationChangesDTO page = changeFeed.getChanges(cursor, 1);
+            assertTrue(page.isHasMore());
+            seen.addAll(ids(page.getChanged()));
+            cursor = page.getNextCursor();
+        }
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void pagesNeverMoveTheCursorPastTheSettlePoint() {
+        LocalDateTime settled = LocalDateTime.now().minusSeconds(10).withNano(0);
+        Long old = donationService.createDonation(newDonation()).getId();
+        jdbcTemplate.update("update donations set updated_at = ? where id = ?", settled, old);
+        donationService.createDonation(newDonation());
+
+        String cursor = new DonationChangeCursor(settled, old - 1).encode();
+        List<Long> seen = new ArrayList<>();
+        DonationChangesDTO page;
+        do {
+            page = changeFeed.getChanges(cursor, 1);
+            seen.addAll(ids(page.getChanged()));
+            cursor = page.getNextCursor();
+            // rows inside the settle window are never skipped over, not even between pages
+            assertTrue(DonationChangeCursor.decode(cursor).at().isBefore(LocalDateTime.now().minusSeconds(4)));
+        } while (page.isHasMore());
+        assertEquals(old, seen.get(0));
+
+        // a slow transaction commits a change stamped before the rows already returned
+        Long late = donationService.createDonation(newDonation()).getId();
+        jdbcTemplate.update("update donations set updated_at = ? where id = ?",
+                DonationChangeCursor.decode(cursor).at().plusNanos(1_000_000), late);
+        assertEquals(late, changeFeed.getChanges(cursor, 1).getChanged().get(0).getId());
+    }
+
+    @Test
+    void rejectsCursorsOlderThanTheTombstoneRetention() {
+        String cursor = new DonationChangeCursor(LocalDateTime.now().minusYears(1), 0L).encode();
+        assertThrows(ChangeCursorExpiredException.class, () -> changeFeed.getChanges(cursor, null));
+    }
+
+    /**
+     * Follows nextCursor until hasMore is false, checking that no donation comes twice.
+     */
+    private String drain(String cursor, int limit, Set<Long> seen) {
+        DonationChangesDTO page;
+        do {
+            page = changeFeed.getChanges(cursor, limit);
+            for (Long id : ids(page.getChanged())) {
+                assertTrue(seen.add(id), "donation " + id + " returned twice");
+            }
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+        return cursor;
+    }
+
+    private List<Long> ids(List<DonationChangeDTO> changes) {
+        return changes.stream().map(DonationChangeDTO::getId).toList();
+    }
+
+    private NewDonationDTO newDonation() {
+        NewDonationDTO dto = new NewDonationDTO();
+        dto.setEstablishmentId(establishmentRepository.findAll().get(0).getId());
+        dto.setProductName("Change feed test");
+        dto.setDescription("Change feed test");
+        dto.setQuantity(1);
+        dto.setUnit("kg");
+        dto.setExpirationDate(LocalDateTime.now().plusDays(2));
+        dto.setStatus("AVAILABLE");
+        return dto;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.event.DonationChangedEvent;
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import com.example.ZeroFoodWaste.model.enums.DonationChangeType;
+import com.example.ZeroFoodWaste.repository.FoodBankRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "donations.stream.sender-threads=1", "donations.stream.write-timeout-ms=500",
+        "donations.stream.write-check-ms=100"})
+class DonationEventBroadcasterTests {
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private DonationEventBroadcaster broadcaster;
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+    @Autowired
+    private FoodBankRepository foodBankRepository;
+
+    @Test
+    void streamsOnlyChangesMatchingTheStatusFilter() throws Exception {
+        int subscribers = broadcaster.subscriberCount();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/donations/stream?status=RESERVED"))
+                .header("Accept", "text/event-stream")
+                .build();
+        HttpResponse<InputStream> response = HttpClient.newHttpClient()
+                .send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (broadcaster.subscriberCount() == subscribers && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        Long foodBankId = foodBankRepository.findAll().get(0).getId();
+        DonationResponseDTO created = donationService.createDonation(newDonation());
+        donationService.acceptDonation(created.getId(), foodBankId);
+        donationService.cancelReservation(created.getId(), foodBankId);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8));
+        List<String> events = CompletableFuture.supplyAsync(() -> readEventNames(reader, 2))
+                .get(10, TimeUnit.SECONDS);
+        // creation is not RESERVED before or after, the cancel leaves RESERVED
+        assertEquals(List.of("reserved", "cancelled"), events);
+        response.body().close();
+    }
+
+    @Test
+    void clientThatStopsReadingIsDroppedWithoutStallingTheOthers() throws Exception {
+        int subscribers = broadcaster.subscriberCount();
+        Long establishmentId = establishmentRepository.findAll().get(0).getId();
+        // subscribes to everything and never reads a byte
+        try (Socket stalled = new Socket()) {
+            stalled.setReceiveBufferSize(1024);
+            stalled.connect(new InetSocketAddress("localhost", port));
+            OutputStream out = stalled.getOutputStream();
+            out.write(("GET /donations/stream HTTP/1.1\r\nHost: localhost\r\n"
+                    + "Accept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            HttpResponse<InputStream> healthy = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                                    + "/donations/stream?establishmentId=" + establishmentId))
+                            .header("Accept", "text/event-stream").build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            awaitSubscribers(subscribers + 2);
+
+            // far more than the socket buffers hold, the only sender thread blocks on the stalled client
+            DonationResponseDTO bulky = new DonationResponseDTO();
+            bulky.setId(-1L);
+            bulky.setEstablishmentId(-1L);
+            bulky.setStatus("AVAILABLE");
+            bulky.setDescription("x".repeat(64 * 1024));
+            for (int i = 0; i < 200; i++) {
+                broadcaster.onDonationChanged(new DonationChangedEvent(DonationChangeType.UPDATED, null, bulky));
+            }
+            awaitSubscribers(subscribers + 1);
+
+            donationService.createDonation(newDonation());
+            BufferedReader reader = new BufferedReader(new InputStreamReader(healthy.body(), StandardCharsets.UTF_8));
+            List<String> events = CompletableFuture.supplyAsync(() -> readEventNames(reader, 1))
+                    .get(5, TimeUnit.SECONDS);
+            assertEquals(List.of("created"), events);
+            healthy.body().close();
+        }
+    }
+
+    @Test
+    void everySubscriberReceivesExactlyTheSameBytes() throws Exception {
+        int subscribers = broadcaster.subscriberCount();
+        List<BufferedReader> readers = new ArrayList<>();
+        List<HttpResponse<InputStream>> responses = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            HttpResponse<InputStream> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/donations/stream?establishmentId=-2"))
+                            .header("Accept", "text/event-stream").build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            responses.add(response);
+            readers.add(new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8)));
+        }
+        awaitSubscribers(subscribers + 4);
+
+        DonationResponseDTO donation = new DonationResponseDTO();
+        donation.setId(-2L);
+        donation.setEstablishmentId(-2L);
+        donation.setStatus("AVAILABLE");
+        for (int i = 0; i < 2; i++) {
+            broadcaster.onDonationChanged(new DonationChangedEvent(DonationChangeType.UPDATED, null, donation));
+        }
+
+        List<List<String>> received = new ArrayList<>();
+        for (BufferedReader reader : readers) {
+            received.add(CompletableFuture.supplyAsync(() -> readLines(reader, 10)).get(5, TimeUnit.SECONDS));
+        }
+        List<String> first = received.get(0);
+        assertEquals(":subscribed", first.get(0));
+        for (int event = 0; event < 2; event++) {
+            List<String> lines = first.subList(2 + event * 4, 6 + event * 4);
+            assertTrue(lines.get(0).startsWith("id:"), lines.toString());
+            assertEquals("event:updated", lines.get(1));
+            assertTrue(lines.get(2).startsWith("data:{") && lines.get(2).contains("\"id\":-2,"), lines.toString());
+            assertEquals("", lines.get(3));
+        }
+        assertEquals("", first.get(1));
+        for (List<String> lines : received) assertEquals(first, lines);
+        for (HttpResponse<InputStream> response : responses) response.body().close();
+    }
+
+    private void awaitSubscribers(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (broadcaster.subscriberCount() != count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, broadcaster.subscriberCount());
+    }
+
+    private List<String> readEventNames(BufferedReader reader, int count) {
+        List<String> names = new ArrayList<>();
+        try {
+            String line;
+            while (names.size() < count && (line = reader.readLine()) != null) {
+                if (line.startsWith("event:")) names.add(line.substring("event:".length()).trim());
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        assertTrue(names.size() == count, "stream ended early: " + names);
+        return names;
+    }
+
+    private List<String> readLines(BufferedReader reader, int count) {
+        List<String> lines = new ArrayList<>();
+        try {
+            String line;
+            while (lines.size() < count && (line = reader.readLine()) != null) lines.add(line);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return lines;
+    }
+
+    private NewDonationDTO newDonation() {
+        NewDonationDTO dto = new NewDonationDTO();
+        dto.setEstablishmentId(establishmentRepository.findAll().get(0).getId());
+        dto.setProductName("Stream test");
+        dto.setDescription("Stream test");
+        dto.setQuantity(1);
+        dto.setUnit("kg");
+        dto.setExpirationDate(LocalDateTime.now().plusDays(1));
+        dto.setStatus("AVAILABLE");
+        return dto;
+    }
+}
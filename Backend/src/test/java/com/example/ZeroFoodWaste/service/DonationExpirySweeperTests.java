@@ -0,0 +1,91 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import com.example.ZeroFoodWaste.repository.DonationRepository;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import com.example.ZeroFoodWaste.repository.FoodBankRepository;
+import com.example.ZeroFoodWaste.repository.RecordingStatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+class DonationExpirySweeperTests {
+
+    @Autowired
+    private DonationExpirySweeper sweeper;
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private AvailableDonationIndex index;
+    @Autowired
+    private DonationRepository donationRepository;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+    @Autowired
+    private FoodBankRepository foodBankRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void expiresDueDonationsWithOneUpdatePerBatch() {
+        sweeper.sweep();
+        List<Long> due = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            due.add(donationService.createDonation(newDonation(LocalDateTime.now().minusMinutes(i + 1))).getId());
+        }
+        Long later = donationService.createDonation(newDonation(LocalDateTime.now().plusMinutes(5))).getId();
+
+        RecordingStatementInspector.clear();
+        assertEquals(20, sweeper.sweep());
+        // update + read back of the expired rows, however many there are
+        assertEquals(2, RecordingStatementInspector.statements().size(), RecordingStatementInspector.statements().toString());
+
+        due.forEach(id -> assertEquals(DonationStatus.EXPIRED, donationRepository.findById(id).orElseThrow().getStatus()));
+        assertEquals(DonationStatus.AVAILABLE, donationRepository.findById(later).orElseThrow().getStatus());
+        List<Long> indexed = index.all().stream().map(DonationResponseDTO::getId).toList();
+        due.forEach(id -> assertFalse(indexed.contains(id)));
+    }
+
+    @Test
+    void skipsDonationsReservedBeforeTheSweep() {
+        DonationResponseDTO donation = donationService.createDonation(newDonation(LocalDateTime.now().minusMinutes(1)));
+        donationService.acceptDonation(donation.getId(), foodBankRepository.findAll().get(0).getId());
+
+        sweeper.sweep();
+        assertEquals(DonationStatus.RESERVED, donationRepository.findById(donation.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void reloadPicksUpDonationsThatExpiredOutsideTheQueue() {
+        DonationResponseDTO donation = donationService.createDonation(newDonation(LocalDateTime.now().plusYears(1)));
+        jdbcTemplate.update("update donations set expiration_date = ? where id = ?",
+                LocalDateTime.now().minusDays(1), donation.getId());
+
+        sweeper.reload();
+        sweeper.sweep();
+        assertEquals(DonationStatus.EXPIRED, donationRepository.findById(donation.getId()).orElseThrow().getStatus());
+    }
+
+    private NewDonationDTO newDonation(LocalDateTime expiration) {
+        NewDonationDTO dto = new NewDonationDTO();
+        dto.setEstablishmentId(establishmentRepository.findAll().get(0).getId());
+        dto.setProductName("Expiry test");
+        dto.setDescription("Expiry test");
+        dto.setQuantity(1);
+        dto.setUnit("kg");
+        dto.setExpirationDate(expiration);
+        dto.setStatus("AVAILABLE");
+        return dto;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.model.dto.DonationExportFilterDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationExportRowDTO;
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.model.entity.Establishment;
+import com.example.ZeroFoodWaste.repository.DonationRepository;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Rows per second of {@link DonationExportService#exportCsv} and the live heap while it runs,
+ * sampled after a GC every {@value #SAMPLE_EVERY} rows: it should stay flat as the export grows.
+ * <p>
+ * Only runs on demand: {@code mvn test -Dtest=DonationExportBenchmark -Dbenchmark=true}
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "logging.level.org.hibernate.SQL=off"})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DonationExportBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int SAMPLE_EVERY = 20_000;
+
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private DonationExportService donationExportService;
+    @Autowired
+    private DonationRepository donationRepository;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    @Test
+    void reportRowsPerSecondAndLiveHeap() {
+        seed();
+        DonationExportFilterDTO everything = new DonationExportFilterDTO();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        CountingStream counted = new CountingStream();
+        long begin = System.nanoTime();
+        long rows = donationExportService.exportCsv(everything, counted);
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        System.out.printf("%nexport : %d rows, %d MB in %.2f s, %.0f rows/sec%n",
+                rows, counted.bytes / (1024 * 1024), seconds, rows / seconds);
+
+        List<Long> liveHeapKb = new ArrayList<>();
+        donationRepository.streamHistory(everything, 1000, new Consumer<>() {
+            private long seen;
+
+            @Override
+            public void accept(DonationExportRowDTO row) {
+                if (++seen % SAMPLE_EVERY == 0) {
+                    System.gc();
+                    liveHeapKb.add(memory.getHeapMemoryUsage().getUsed() / 1024);
+                }
+            }
+        });
+        System.out.println("live heap (KB) every " + SAMPLE_EVERY + " rows: " + liveHeapKb);
+    }
+
+    private void seed() {
+        Establishment store = new Establishment();
+        store.setName("Export benchmark store");
+        store.setAddress("Benchmark avenue");
+        store.setContactPhone("555-7900");
+        Long storeId = establishmentRepository.save(store).getId();
+        Random random = new Random(42);
+        for (int done = 0; done < ROWS; done += DonationService.MAX_BULK_SIZE) {
+            List<NewDonationDTO> rows = new ArrayList<>(DonationService.MAX_BULK_SIZE);
+            for (int i = 0; i < DonationService.MAX_BULK_SIZE; i++) {
+                NewDonationDTO dto = new NewDonationDTO();
+                dto.setEstablishmentId(storeId);
+                dto.setProductName("Exported item " + (done + i));
+                dto.setDescription("End of day surplus, " + random.nextInt(100) + " boxes");
+                dto.setQuantity(1 + random.nextInt(20));
+                dto.setUnit(random.nextBoolean() ? "kg" : "units");
+                dto.setExpirationDate(LocalDateTime.now().plusHours(12 + random.nextInt(72)));
+                rows.add(dto);
+            }
+            donationService.createDonations(rows);
+        }
+    }
+
+    private static final class CountingStream extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
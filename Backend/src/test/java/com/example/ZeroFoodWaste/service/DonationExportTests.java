@@ -0,0 +1,90 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.model.dto.DonationExportFilterDTO;
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import com.example.ZeroFoodWaste.repository.FoodBankRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "donations.export.fetch-size=2")
+class DonationExportTests {
+
+    @Autowired
+    private DonationExportService donationExportService;
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+    @Autowired
+    private FoodBankRepository foodBankRepository;
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Test
+    void exportsFilteredHistoryWithAssignmentDates() {
+        LocalDateTime from = LocalDateTime.now().minus(1, ChronoUnit.MILLIS);
+        Long establishmentId = establishmentRepository.findAll().get(0).getId();
+        Long foodBankId = foodBankRepository.findAll().get(0).getId();
+        Long picked = donationService.createDonation(newDonation(establishmentId, "Export soup")).getId();
+        Long reserved = donationService.createDonation(newDonation(establishmentId, "Export \"fresh\", bread")).getId();
+        donationService.createDonation(newDonation(establishmentId, "Export rice"));
+        donationService.acceptDonation(picked, foodBankId);
+        donationService.pickUpDonation(picked);
+        donationService.acceptDonation(reserved, foodBankId);
+
+        DonationExportFilterDTO filter = new DonationExportFilterDTO(from, null,
+                Set.of(DonationStatus.COMPLETED, DonationStatus.RESERVED));
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        assertEquals(2, donationExportService.exportNdjson(filter, ndjson));
+        List<JsonNode> rows = ndjson.toString(StandardCharsets.UTF_8).lines().map(jsonMapper::readTree).toList();
+        assertEquals(picked, rows.get(0).get("id").asLong());
+        assertEquals("COMPLETED", rows.get(0).get("status").asString());
+        assertEquals(foodBankId, rows.get(0).get("foodBankId").asLong());
+        assertNotNull(rows.get(0).get("acceptedAt").asString());
+        assertNotNull(rows.get(0).get("pickedUpAt").asString());
+        assertTrue(rows.get(1).get("pickedUpAt").isNull());
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        assertEquals(2, donationExportService.exportCsv(filter, csv));
+        List<String> lines = csv.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("id,establishmentId,"));
+        assertTrue(lines.get(2).contains(",\"Export \"\"fresh\"\", bread\","), lines.get(2));
+        assertTrue(lines.get(2).endsWith(","), "pickedUpAt is empty: " + lines.get(2));
+    }
+
+    @Test
+    void emptyRangeExportsOnlyTheCsvHeader() {
+        LocalDateTime future = LocalDateTime.now().plusYears(1);
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        assertEquals(0, donationExportService.exportCsv(new DonationExportFilterDTO(future, null, null), csv));
+        assertEquals(1, csv.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    private NewDonationDTO newDonation(Long establishmentId, String productName) {
+        NewDonationDTO dto = new NewDonationDTO();
+        dto.setEstablishmentId(establishmentId);
+        dto.setProductName(productName);
+        dto.setQuantity(2);
+        dto.setUnit("kg");
+        dto.setExpirationDate(LocalDateTime.now().plusDays(1));
+        return dto;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.model.dto.DonationImportResultDTO;
+import com.example.ZeroFoodWaste.model.entity.Establishment;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Rows per second and heap growth of {@link DonationImportService#importCsv} on a generated
+ * file that is never held in memory as a whole.
+ * <p>
+ * Only runs on demand: {@code mvn test -Dtest=DonationImportBenchmark -Dbenchmark=true}
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DonationImportBenchmark {
+
+    private static final int ROWS = 50_000;
+
+    @Autowired
+    private DonationImportService donationImportService;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    @Test
+    void reportRowsPerSecondAndHeap() {
+        Establishment store = new Establishment();
+        store.setName("Import benchmark store");
+        store.setAddress("Benchmark avenue");
+        store.setContactPhone("555-7800");
+        Long storeId = establishmentRepository.save(store).getId();
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        long begin = System.nanoTime();
+        DonationImportResultDTO result = donationImportService.importCsv(new GeneratedCsv(ROWS, 42), storeId);
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        System.gc();
+        long heapAfter = memory.getHeapMemoryUsage().getUsed();
+
+        assertEquals(ROWS, result.getImported());
+        System.out.printf("%nimport : %d rows in %.2f s, %.0f rows/sec, heap after gc %+d KB%n",
+                ROWS, seconds, ROWS / seconds, (heapAfter - heapBefore) / 1024);
+    }
+
+    /**
+     * CSV produced line by line as it is read, like an upload arriving over the network.
+     */
+    private static final class GeneratedCsv extends InputStream {
+        private final int rows;
+        private final Random random;
+        private final LocalDateTime expiration = LocalDateTime.now().plusDays(2).withNano(0);
+        private byte[] line = "productName,quantity,unit,expirationDate\n".getBytes(StandardCharsets.UTF_8);
+        private int position;
+        private int written;
+
+        private GeneratedCsv(int rows, long seed) {
+            this.rows = rows;
+            this.random = new Random(seed);
+        }
+
+        @Override
+        public int read() {
+            if (position == line.length) {
+                if (written == rows) return -1;
+                written++;
+                line = ("Imported item " + written + "," + (1 + random.nextInt(20)) + ","
+                        + (random.nextBoolean() ? "kg" : "units") + ","
+                        + expiration.plusMinutes(random.nextInt(4000)) + "\n").getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return line[position++];
+        }
+    }
+}
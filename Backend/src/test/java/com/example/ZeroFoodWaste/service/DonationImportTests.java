@@ -0,0 +1,124 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.model.dto.DonationImportResultDTO;
+import com.example.ZeroFoodWaste.model.dto.RowErrorDTO;
+import com.example.ZeroFoodWaste.model.entity.Donation;
+import com.example.ZeroFoodWaste.repository.DonationRepository;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"donations.import.chunk-size=2", "donations.import.max-reported-errors=2",
+        "donations.import.max-record-length=200"})
+class DonationImportTests {
+
+    @Autowired
+    private DonationImportService donationImportService;
+    @Autowired
+    private DonationRepository donationRepository;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    @Test
+    void importsCsvAndReportsBadRowsByLine() {
+        Long establishmentId = establishmentRepository.findAll().get(0).getId();
+        String tomorrow = LocalDate.now().plusDays(1).toString();
+        String csv = "productName,Quantity,unit,expirationDate,description\r\n"
+                + "Csv bread,4,kg," + tomorrow + ",\"Rye, \"\"sliced\"\"\nbaked today\"\r\n"
+                + "Csv milk,many,l," + tomorrow + ",\r\n"
+                + "\r\n"
+                + "Csv apples,10,kg," + tomorrow + "T18:00:00,\r\n"
+                + "Csv yoghurt,6,units,2020-01-01,\r\n";
+
+        long before = donationRepository.count();
+        DonationImportResultDTO result = donationImportService.importCsv(stream(csv), establishmentId);
+
+        assertEquals(4, result.getRows());
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(List.of(4L, 7L), result.getErrors().stream().map(RowErrorDTO::getRow).toList());
+        assertFalse(result.isErrorsTruncated());
+        assertEquals(before + 2, donationRepository.count());
+
+        Donation bread = donationRepository.findAll().stream()
+                .filter(d -> d.getProductName().equals("Csv bread")).findFirst().orElseThrow();
+        assertEquals("Rye, \"sliced\"\nbaked today", bread.getDescription());
+        assertEquals(LocalDate.now().plusDays(1).atTime(23, 59, 59), bread.getExpirationDate());
+    }
+
+    @Test
+    void importsNdjsonAndCapsTheErrorList() {
+        Long establishmentId = establishmentRepository.findAll().get(0).getId();
+        String tomorrow = LocalDate.now().plusDays(1).atTime(12, 0).toString();
+        String row = "{\"establishmentId\":" + establishmentId + ",\"productName\":\"%s\",\"quantity\":2,"
+                + "\"unit\":\"kg\",\"expirationDate\":\"" + tomorrow + "\"}\n";
+        String ndjson = row.formatted("Json rice")
+                + "{not json\n"
+                + "\n"
+                + row.formatted("Json pasta").replace("\"kg\"", "\" \"")
+                + row.formatted("Json beans")
+                + "{\"productName\":\"Json orphan\"}\n";
+
+        DonationImportResultDTO result = donationImportService.importNdjson(stream(ndjson), null);
+
+        assertEquals(5, result.getRows());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getRejected());
+        assertEquals(List.of(2L, 4L), result.getErrors().stream().map(RowErrorDTO::getRow).toList());
+        assertTrue(result.isErrorsTruncated());
+    }
+
+    @Test
+    void unterminatedQuoteStopsTheCsvImportWithARowError() {
+        Long establishmentId = establishmentRepository.findAll().get(0).getId();
+        String tomorrow = LocalDate.now().plusDays(1).toString();
+        String csv = "productName,quantity,unit,expirationDate,description\n"
+                + "Csv quoted ok,1,kg," + tomorrow + ",\"fine\"\n"
+                + "Csv quoted open,1,kg," + tomorrow + ",\"never closed\n"
+                + ("Csv swallowed,1,kg," + tomorrow + ",\n").repeat(1000);
+
+        DonationImportResultDTO result = donationImportService.importCsv(stream(csv), establishmentId);
+
+        assertEquals(2, result.getRows());
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(3L), result.getErrors().stream().map(RowErrorDTO::getRow).toList());
+        assertEquals("unterminated quoted field", result.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void rejectsOverlongRecordsAndKeepsReading() {
+        Long establishmentId = establishmentRepository.findAll().get(0).getId();
+        String tomorrow = LocalDate.now().plusDays(1).toString();
+        String csv = "productName,quantity,unit,expirationDate,description\n"
+                + "Csv long,1,kg," + tomorrow + ",\"" + "x\n".repeat(500) + "\"\n"
+                + "Csv after long,1,kg," + tomorrow + ",\n";
+        String row = "{\"establishmentId\":" + establishmentId + ",\"productName\":\"%s\",\"quantity\":1,"
+                + "\"unit\":\"kg\",\"expirationDate\":\"" + tomorrow + "T12:00:00\"}\r\n";
+        String ndjson = row.formatted("Json long " + "x".repeat(1000)) + row.formatted("Json after long");
+
+        DonationImportResultDTO fromCsv = donationImportService.importCsv(stream(csv), establishmentId);
+        DonationImportResultDTO fromNdjson = donationImportService.importNdjson(stream(ndjson), null);
+
+        assertEquals(1, fromCsv.getImported());
+        assertEquals(List.of(2L), fromCsv.getErrors().stream().map(RowErrorDTO::getRow).toList());
+        assertEquals("record longer than 200 characters", fromCsv.getErrors().get(0).getMessage());
+        assertEquals(1, fromNdjson.getImported());
+        assertEquals(List.of(1L), fromNdjson.getErrors().stream().map(RowErrorDTO::getRow).toList());
+        assertEquals("line longer than 200 characters", fromNdjson.getErrors().get(0).getMessage());
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
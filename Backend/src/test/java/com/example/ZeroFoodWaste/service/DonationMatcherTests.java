@@ -0,0 +1,93 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.MatchingPlanDTO;
+import com.example.ZeroFoodWaste.model.dto.ProposedAssignmentDTO;
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DonationMatcherTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+    // about 1.1 km north of the store per 0.01 degree
+    private static final GeoPoint STORE = new GeoPoint(40.40, -3.70);
+
+    private DonationMatcher matcher = matcher(2000, 200);
+
+    @AfterEach
+    void tearDown() {
+        matcher.close();
+    }
+
+    @Test
+    void prefersTheNearestBankAndSkipsBanksOutOfRange() {
+        MatchingBank near = bank(1, 40.41, Map.of());
+        MatchingBank far = bank(2, 40.50, Map.of());
+        MatchingBank outOfRange = bank(3, 41.00, Map.of());
+        MatchingPlanDTO plan = matcher.solve(List.of(donation(10, 24, "kg", 5), donation(11, 48, "kg", 5)),
+                List.of(far, outOfRange, near), NOW);
+
+        assertTrue(plan.isComplete());
+        assertEquals(2, plan.getMatched());
+        plan.getAssignments().forEach(proposal -> assertEquals(1L, proposal.getFoodBankId()));
+        assertEquals(1.11, plan.getAssignments().get(0).getDistanceKm(), 0.01);
+    }
+
+    @Test
+    void unitHistoryOutweighsASmallDetour() {
+        MatchingBank bread = bank(1, 40.41, Map.of("units", new MatchingBank.UnitHistory(1, 20)));
+        MatchingBank produce = bank(2, 40.42, Map.of("kg", new MatchingBank.UnitHistory(1, 5)));
+        MatchingPlanDTO plan = matcher.solve(List.of(donation(10, 24, "kg", 5)), List.of(bread, produce), NOW);
+
+        assertEquals(2L, plan.getAssignments().get(0).getFoodBankId());
+    }
+
+    @Test
+    void capsEachBankAndLeavesTheLatestExpiriesOut() {
+        matcher.close();
+        matcher = matcher(2000, 2);
+        List<DonationResponseDTO> donations = new ArrayList<>();
+        for (int i = 0; i < 6; i++) donations.add(donation(10 + i, 6 + i, "kg", 5));
+        MatchingPlanDTO plan = matcher.solve(donations, List.of(bank(1, 40.41, Map.of()), bank(2, 40.45, Map.of())), NOW);
+
+        // two per bank, the two expiring last get nothing
+        assertEquals(4, plan.getMatched());
+        assertEquals(List.of(10L, 11L, 12L, 13L),
+                plan.getAssignments().stream().map(ProposedAssignmentDTO::getDonationId).toList());
+        assertEquals(2, plan.getAssignments().stream().filter(p -> p.getFoodBankId() == 2L).count());
+    }
+
+    @Test
+    void stopsAtTheTimeBudget() {
+        matcher.close();
+        matcher = matcher(0, 200);
+        MatchingPlanDTO plan = matcher.solve(List.of(donation(10, 24, "kg", 5)), List.of(bank(1, 40.41, Map.of())), NOW);
+
+        assertFalse(plan.isComplete());
+        assertEquals(1, plan.getDonations());
+    }
+
+    private static DonationMatcher matcher(long timeBudgetMs, int maxPerBank) {
+        return new DonationMatcher(2, timeBudgetMs, 25, maxPerBank, 0.4, 0.3, 0.2, 0.1);
+    }
+
+    private static MatchingBank bank(long id, double latitude, Map<String, MatchingBank.UnitHistory> units) {
+        return new MatchingBank(id, new GeoPoint(latitude, STORE.longitude()), units);
+    }
+
+    private static DonationResponseDTO donation(long id, int hoursLeft, String unit, int quantity) {
+        return new DonationResponseDTO(id, 1L, null, "Donation " + id, null, quantity, unit,
+                NOW.plusHours(hoursLeft), DonationStatus.AVAILABLE, "Store", null, NOW,
+                STORE.latitude(), STORE.longitude());
+    }
+}
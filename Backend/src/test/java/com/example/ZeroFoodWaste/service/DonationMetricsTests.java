@@ -0,0 +1,71 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.exception.DonationAlreadyReserved;
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import com.example.ZeroFoodWaste.repository.FoodBankRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class DonationMetricsTests {
+
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private AvailableDonationIndex availableDonationIndex;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+    @Autowired
+    private FoodBankRepository foodBankRepository;
+
+    @Test
+    void countsCommittedChangesAndConflicts() {
+        Long foodBankId = foodBankRepository.findAll().get(0).getId();
+        double created = changes("created");
+        double reserved = changes("reserved");
+        double cancelled = changes("cancelled");
+        double conflicts = meterRegistry.get("donations.reservation.conflicts").counter().count();
+
+        Long first = donationService.createDonation(newDonation()).getId();
+        Long second = donationService.createDonation(newDonation()).getId();
+        donationService.acceptDonation(first, foodBankId);
+        assertThrows(DonationAlreadyReserved.class, () -> donationService.acceptDonation(first, foodBankId));
+        donationService.acceptDonations(List.of(first, second), foodBankId);
+        donationService.cancelReservation(second, foodBankId);
+
+        assertEquals(created + 2, changes("created"));
+        assertEquals(reserved + 2, changes("reserved"));
+        assertEquals(cancelled + 1, changes("cancelled"));
+        assertEquals(conflicts + 2, meterRegistry.get("donations.reservation.conflicts").counter().count());
+    }
+
+    @Test
+    void availableGaugeFollowsTheIndex() {
+        assertEquals(availableDonationIndex.size(), meterRegistry.get("donations.available").gauge().value());
+    }
+
+    private double changes(String type) {
+        return meterRegistry.get("donations.changes").tag("type", type).counter().count();
+    }
+
+    private NewDonationDTO newDonation() {
+        NewDonationDTO dto = new NewDonationDTO();
+        dto.setEstablishmentId(establishmentRepository.findAll().get(0).getId());
+        dto.setProductName("Metered bread");
+        dto.setQuantity(1);
+        dto.setUnit("kg");
+        dto.setExpirationDate(LocalDateTime.now().plusDays(1));
+        return dto;
+    }
+}
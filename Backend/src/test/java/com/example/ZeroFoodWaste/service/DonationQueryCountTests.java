@@ -0,0 +1,123 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.model.entity.Donation;
+import com.example.ZeroFoodWaste.model.entity.DonationAssignment;
+import com.example.ZeroFoodWaste.model.entity.Establishment;
+import com.example.ZeroFoodWaste.model.entity.FoodBank;
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import com.example.ZeroFoodWaste.repository.DonationAssignmentRepository;
+import com.example.ZeroFoodWaste.repository.DonationRepository;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import com.example.ZeroFoodWaste.repository.FoodBankRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Every donation list endpoint must cost the same number of statements
+ * whether it returns a handful of rows or a few dozen. AVAILABLE listings
+ * are served by {@link AvailableDonationIndex} and must cost none.
+ */
+@SpringBootTest
+@Transactional
+class DonationQueryCountTests {
+
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private DonationRepository donationRepository;
+    @Autowired
+    private DonationAssignmentRepository assignmentRepository;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+    @Autowired
+    private FoodBankRepository foodBankRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Establishment establishment;
+    private FoodBank foodBank;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        establishment = new Establishment();
+        establishment.setName("Query Count Market");
+        establishment.setAddress("Calle Test 1");
+        establishment.setContactPhone("555-0000");
+        establishment = establishmentRepository.save(establishment);
+
+        foodBank = new FoodBank();
+        foodBank.setName("Query Count Bank");
+        foodBank.setAddress("Calle Test 2");
+        foodBank.setContactPhone("555-0001");
+        foodBank = foodBankRepository.save(foodBank);
+    }
+
+    @Test
+    void listEndpointsRunConstantStatementCount() {
+        seed(3);
+        long[] small = countAll();
+        seed(30);
+        long[] large = countAll();
+
+        for (int i = 0; i < small.length; i++) {
+            assertEquals(1, small[i], "list query " + i + " should be a single select");
+            assertEquals(small[i], large[i], "statement count of list query " + i + " grew with the rows");
+        }
+    }
+
+    @Test
+    void availableListingsDoNotTouchTheDatabase() {
+        seed(3);
+        assertEquals(0, count(() -> donationService.getAllDonations("AVAILABLE", null, null, null)));
+        assertEquals(0, count(() -> donationService.getDonationPage("AVAILABLE", null, null, 100, null, null)));
+    }
+
+    private long[] countAll() {
+        Long establishmentId = establishment.getId();
+        Long foodBankId = foodBank.getId();
+        return new long[]{
+                count(() -> donationService.getAllDonations("RESERVED", null, null, null)),
+                count(() -> donationService.getDonationPage("RESERVED", null, null, 100, null, null)),
+                count(() -> donationService.getDonationsByEstablishment(establishmentId)),
+                count(() -> donationService.getDonationsByFoodBank(foodBankId)),
+                count(() -> donationService.getReservedDonationsByBank(foodBankId))
+        };
+    }
+
+    private long count(Supplier<?> call) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seed(int rows) {
+        for (int i = 0; i < rows; i++) {
+            Donation available = new Donation(establishment, "Available " + i, null, 1, "kg",
+                    LocalDateTime.now().plusDays(1 + i), DonationStatus.AVAILABLE);
+            donationRepository.save(available);
+
+            Donation reserved = donationRepository.save(new Donation(establishment, "Reserved " + i, null, 1, "kg",
+                    LocalDateTime.now().plusDays(1 + i), DonationStatus.RESERVED));
+            assignmentRepository.save(new DonationAssignment(reserved, foodBank));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.exception.DonationAlreadyReserved;
+import com.example.ZeroFoodWaste.model.dto.DonationReservationResultDTO;
+import com.example.ZeroFoodWaste.model.dto.DonationResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.model.entity.FoodBank;
+import com.example.ZeroFoodWaste.model.enums.DonationStatus;
+import com.example.ZeroFoodWaste.model.enums.ReservationResult;
+import com.example.ZeroFoodWaste.repository.DonationAssignmentRepository;
+import com.example.ZeroFoodWaste.repository.DonationRepository;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import com.example.ZeroFoodWaste.repository.FoodBankRepository;
+import com.example.ZeroFoodWaste.repository.RecordingStatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class DonationReservationTests {
+
+    private static final int FOOD_BANKS = 8;
+
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private DonationRepository donationRepository;
+    @Autowired
+    private DonationAssignmentRepository assignmentRepository;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+    @Autowired
+    private FoodBankRepository foodBankRepository;
+
+    @Test
+    void exactlyOneOfManyRacingFoodBanksWins() throws Exception {
+        List<Long> foodBanks = createFoodBanks(FOOD_BANKS);
+        Long donationId = donationService.createDonation(newDonation()).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(FOOD_BANKS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Long foodBankId : foodBanks) {
+            results.add(pool.submit(() -> {
+                start.await();
+                try {
+                    donationService.acceptDonation(donationId, foodBankId);
+                    return true;
+                } catch (DonationAlreadyReserved e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int winners = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) winners++;
+        }
+        pool.shutdown();
+
+        assertEquals(1, winners);
+        assertTrue(assignmentRepository.findByDonationId(donationId).isPresent());
+        assertEquals(DonationStatus.RESERVED, donationRepository.findById(donationId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void acceptReturnsTheAssignmentAndRejectsASecondClaim() {
+        List<Long> foodBanks = createFoodBanks(2);
+        Long donationId = donationService.createDonation(newDonation()).getId();
+
+        DonationResponseDTO reserved = donationService.acceptDonation(donationId, foodBanks.get(0));
+        assertEquals(DonationStatus.RESERVED.name(), reserved.getStatus());
+        assertEquals(assignmentRepository.findByDonationId(donationId).orElseThrow().getId(), reserved.getAssignmentId());
+        assertThrows(DonationAlreadyReserved.class, () -> donationService.acceptDonation(donationId, foodBanks.get(1)));
+
+        donationService.cancelReservation(donationId, foodBanks.get(0));
+        assertEquals(DonationStatus.RESERVED.name(), donationService.acceptDonation(donationId, foodBanks.get(1)).getStatus());
+    }
+
+    @Test
+    void batchReportsEachDonationWithAFixedNumberOfStatements() {
+        List<Long> foodBanks = createFoodBanks(2);
+        List<Long> available = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            available.add(donationService.createDonation(newDonation()).getId());
+        }
+        Long taken = donationService.createDonation(newDonation()).getId();
+        donationService.acceptDonation(taken, foodBanks.get(1));
+        Long missing = -1L;
+
+        List<Long> request = new ArrayList<>(available);
+        request.add(taken);
+        request.add(missing);
+        request.add(available.get(0));
+        RecordingStatementInspector.clear();
+        List<DonationReservationResultDTO> results = donationService.acceptDonations(request, foodBanks.get(0));
+        // food bank check, UPDATE, read-back, DTO select; the JDBC batch bypasses Hibernate
+        assertEquals(4, RecordingStatementInspector.statements().size(), RecordingStatementInspector.statements().toString());
+
+        assertEquals(12, results.size());
+        for (int i = 0; i < available.size(); i++) {
+            DonationReservationResultDTO result = results.get(i);
+            assertEquals(available.get(i), result.getDonationId());
+            assertEquals(ReservationResult.RESERVED, result.getResult());
+            assertEquals(assignmentRepository.findByDonationId(available.get(i)).orElseThrow().getId(),
+                    result.getDonation().getAssignmentId());
+        }
+        assertEquals(ReservationResult.CONFLICT, results.get(10).getResult());
+        assertEquals(DonationStatus.RESERVED.name(), results.get(10).getStatus());
+        assertEquals(ReservationResult.NOT_FOUND, results.get(11).getResult());
+        assertEquals(foodBanks.get(1), assignmentRepository.findByDonationId(taken).orElseThrow().getFoodBank().getId());
+    }
+
+    private List<Long> createFoodBanks(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            FoodBank foodBank = new FoodBank();
+            foodBank.setName("Racing bank " + i);
+            foodBank.setAddress("Street " + i);
+            foodBank.setContactPhone("555-00" + i);
+            ids.add(foodBankRepository.save(foodBank).getId());
+        }
+        return ids;
+    }
+
+    private NewDonationDTO newDonation() {
+        NewDonationDTO dto = new NewDonationDTO();
+        dto.setEstablishmentId(establishmentRepository.findAll().get(0).getId());
+        dto.setProductName("Reservation test");
+        dto.setDescription("Reservation test");
+        dto.setQuantity(1);
+        dto.setUnit("kg");
+        dto.setExpirationDate(LocalDateTime.now().plusDays(1));
+        dto.setStatus("AVAILABLE");
+        return dto;
+    }
+}
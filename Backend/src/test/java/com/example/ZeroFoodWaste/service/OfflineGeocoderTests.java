@@ -0,0 +1,35 @@
+package com.example.ZeroFoodWaste.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OfflineGeocoderTests {
+
+    private final OfflineGeocoder geocoder = new OfflineGeocoder(40.4168, -3.7038, 15);
+
+    @Test
+    void sameAddressAlwaysLandsOnTheSamePoint() {
+        GeoPoint point = geocoder.geocode("Calle de Alcalá 42, Madrid").orElseThrow();
+        assertEquals(point, geocoder.geocode("  calle de ALCALA 42,   madrid ").orElseThrow());
+        assertEquals(point, new OfflineGeocoder(40.4168, -3.7038, 15).geocode("Calle de Alcalá 42, Madrid").orElseThrow());
+        assertNotEquals(point, geocoder.geocode("Calle de Alcalá 43, Madrid").orElseThrow());
+    }
+
+    @Test
+    void placesEveryAddressWithinTheRadius() {
+        GeoPoint center = new GeoPoint(40.4168, -3.7038);
+        for (int i = 0; i < 1000; i++) {
+            GeoPoint point = geocoder.geocode("Street " + i).orElseThrow();
+            assertTrue(center.distanceKm(point) <= 15.01, point::toString);
+        }
+    }
+
+    @Test
+    void blankAddressCannotBeLocated() {
+        assertTrue(geocoder.geocode(null).isEmpty());
+        assertTrue(geocoder.geocode(" ,. ").isEmpty());
+    }
+}
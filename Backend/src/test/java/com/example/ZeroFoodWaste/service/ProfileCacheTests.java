@@ -0,0 +1,113 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.config.CacheConfig;
+import com.example.ZeroFoodWaste.model.dto.EstablishmentResponseDTO;
+import com.example.ZeroFoodWaste.model.dto.FoodBankResponseDTO;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import com.example.ZeroFoodWaste.repository.FoodBankRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Food banks and establishments are read from the {@value CacheConfig#FOOD_BANKS} and
+ * {@value CacheConfig#ESTABLISHMENTS} caches after the first load, modifications replace the
+ * cached copy, and the caches publish their hit, miss and eviction counts.
+ */
+@SpringBootTest
+class ProfileCacheTests {
+
+    @Autowired
+    private FoodBankService foodBankService;
+    @Autowired
+    private EstablishmentService establishmentService;
+    @Autowired
+    private FoodBankRepository foodBankRepository;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long foodBankId;
+    private Long establishmentId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        foodBankId = foodBankRepository.findAll().get(0).getId();
+        establishmentId = establishmentRepository.findAll().get(0).getId();
+        cacheManager.getCache(CacheConfig.FOOD_BANKS).evict(foodBankId);
+        cacheManager.getCache(CacheConfig.ESTABLISHMENTS).evict(establishmentId);
+    }
+
+    @Test
+    void secondReadRunsNoSql() {
+        assertTrue(count(() -> foodBankService.getFoodBank(foodBankId)) > 0);
+        assertEquals(0, count(() -> foodBankService.getFoodBank(foodBankId)));
+
+        assertTrue(count(() -> establishmentService.getEstablishment(establishmentId)) > 0);
+        assertEquals(0, count(() -> establishmentService.getEstablishment(establishmentId)));
+    }
+
+    @Test
+    void modificationsReplaceTheCachedCopy() {
+        FoodBankResponseDTO foodBank = foodBankService.getFoodBank(foodBankId);
+        foodBank.setContactPhone("555-0101");
+        foodBankService.modifyFoodBank(foodBankId, foodBank);
+
+        EstablishmentResponseDTO establishment = establishmentService.getEstablishment(establishmentId);
+        establishment.setContactPhone("555-0102");
+        establishmentService.modifyEstablishment(establishmentId, establishment);
+
+        assertEquals(0, count(() -> {
+            assertEquals("555-0101", foodBankService.getFoodBank(foodBankId).getContactPhone());
+            assertEquals("555-0102", establishmentService.getEstablishment(establishmentId).getContactPhone());
+            return null;
+        }));
+    }
+
+    @Test
+    void hitsMissesAndEvictionsArePublished() {
+        double hits = gets(CacheConfig.FOOD_BANKS, "hit");
+        double misses = gets(CacheConfig.FOOD_BANKS, "miss");
+
+        foodBankService.getFoodBank(foodBankId);
+        foodBankService.getFoodBank(foodBankId);
+        foodBankService.getFoodBank(foodBankId);
+
+        assertEquals(misses + 1, gets(CacheConfig.FOOD_BANKS, "miss"));
+        assertEquals(hits + 2, gets(CacheConfig.FOOD_BANKS, "hit"));
+        for (String cache : new String[]{CacheConfig.FOOD_BANKS, CacheConfig.ESTABLISHMENTS, CacheConfig.USERS}) {
+            assertNotNull(meterRegistry.find("cache.gets").tags("cache", cache, "result", "hit").functionCounter());
+            assertNotNull(meterRegistry.find("cache.gets").tags("cache", cache, "result", "miss").functionCounter());
+            assertNotNull(meterRegistry.find("cache.evictions").tags("cache", cache).functionCounter());
+        }
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tags("cache", cache, "result", result).functionCounter().count();
+    }
+
+    private long count(Supplier<?> call) {
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
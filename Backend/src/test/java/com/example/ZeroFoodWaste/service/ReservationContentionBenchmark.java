@@ -0,0 +1,125 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.exception.DonationAlreadyReserved;
+import com.example.ZeroFoodWaste.model.dto.NewDonationDTO;
+import com.example.ZeroFoodWaste.model.entity.FoodBank;
+import com.example.ZeroFoodWaste.repository.EstablishmentRepository;
+import com.example.ZeroFoodWaste.repository.FoodBankRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Food banks racing for the same donations through {@link DonationService#acceptDonation}:
+ * every contender tries to reserve every donation of a round in the same order, so each
+ * donation has exactly one winner and contenders - 1 conflicts.
+ * <p>
+ * Only runs on demand: {@code mvn test -Dtest=ReservationContentionBenchmark -Dbenchmark=true}
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReservationContentionBenchmark {
+
+    private static final int DONATIONS_PER_ROUND = 200;
+    private static final int[] CONTENDERS = {1, 2, 4, 8, 16, 32};
+
+    @Autowired
+    private DonationService donationService;
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+    @Autowired
+    private FoodBankRepository foodBankRepository;
+
+    @Test
+    void reportAcceptThroughputUnderContention() throws Exception {
+        List<Long> foodBanks = createFoodBanks(CONTENDERS[CONTENDERS.length - 1]);
+        round(4, foodBanks); // warm-up
+
+        System.out.printf("%n%-11s %10s %10s %12s %14s %14s%n",
+                "contenders", "accepts", "conflicts", "conflict %", "accepts/sec", "attempts/sec");
+        for (int contenders : CONTENDERS) {
+            Result result = round(contenders, foodBanks);
+            assertEquals(DONATIONS_PER_ROUND, result.accepts());
+            double seconds = result.nanos() / 1e9;
+            int attempts = result.accepts() + result.conflicts();
+            System.out.printf("%-11d %10d %10d %11.1f%% %14.0f %14.0f%n",
+                    contenders, result.accepts(), result.conflicts(), 100.0 * result.conflicts() / attempts,
+                    result.accepts() / seconds, attempts / seconds);
+        }
+    }
+
+    private Result round(int contenders, List<Long> foodBanks) throws InterruptedException {
+        List<Long> donations = new ArrayList<>(DONATIONS_PER_ROUND);
+        for (int i = 0; i < DONATIONS_PER_ROUND; i++) {
+            donations.add(donationService.createDonation(newDonation()).getId());
+        }
+
+        AtomicInteger accepts = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(contenders);
+        for (int c = 0; c < contenders; c++) {
+            Long foodBankId = foodBanks.get(c);
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (Long donationId : donations) {
+                    try {
+                        donationService.acceptDonation(donationId, foodBankId);
+                        accepts.incrementAndGet();
+                    } catch (DonationAlreadyReserved e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.MINUTES);
+        return new Result(accepts.get(), conflicts.get(), System.nanoTime() - begin);
+    }
+
+    private List<Long> createFoodBanks(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            FoodBank foodBank = new FoodBank();
+            foodBank.setName("Benchmark bank " + i);
+            foodBank.setAddress("Benchmark street " + i);
+            foodBank.setContactPhone("555-99" + i);
+            ids.add(foodBankRepository.save(foodBank).getId());
+        }
+        return ids;
+    }
+
+    private NewDonationDTO newDonation() {
+        NewDonationDTO dto = new NewDonationDTO();
+        dto.setEstablishmentId(establishmentRepository.findAll().get(0).getId());
+        dto.setProductName("Contention benchmark");
+        dto.setDescription("Contention benchmark");
+        dto.setQuantity(1);
+        dto.setUnit("kg");
+        dto.setExpirationDate(LocalDateTime.now().plusDays(1));
+        dto.setStatus("AVAILABLE");
+        return dto;
+    }
+
+    private record Result(int accepts, int conflicts, long nanos) {
+    }
+}
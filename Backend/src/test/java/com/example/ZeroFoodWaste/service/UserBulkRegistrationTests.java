@@ -0,0 +1,129 @@
+package com.example.ZeroFoodWaste.service;
+
+import com.example.ZeroFoodWaste.config.BoundedPasswordEncoder;
+import com.example.ZeroFoodWaste.model.dto.NewUserDTO;
+import com.example.ZeroFoodWaste.model.dto.UserRegistrationResultDTO;
+import com.example.ZeroFoodWaste.model.entity.User;
+import com.example.ZeroFoodWaste.model.enums.RegistrationResult;
+import com.example.ZeroFoodWaste.model.enums.Role;
+import com.example.ZeroFoodWaste.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+class UserBulkRegistrationTests {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @MockitoSpyBean
+    private BoundedPasswordEncoder boundedPasswordEncoder;
+
+    @Test
+    void createsAChainInBatchesWithOneConflictQuery() {
+        List<NewUserDTO> rows = new ArrayList<>();
+        for (int i = 0; i < 60; i++) rows.add(store("store" + i + "@chain.example.com", "Chain store " + i));
+        rows.add(foodBank("bank@chain.example.com"));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<UserRegistrationResultDTO> results = userService.createUsers(rows);
+
+        assertTrue(results.stream().allMatch(r -> r.getResult() == RegistrationResult.CREATED));
+        assertEquals(61 + 61, statistics.getEntityInsertCount());
+        // email check + sequence calls + a few insert batches, not two inserts per row
+        assertTrue(statistics.getPrepareStatementCount() < 20,
+                "prepared " + statistics.getPrepareStatementCount() + " statements");
+
+        User store = userRepository.findByEmail("store59@chain.example.com").orElseThrow();
+        assertEquals("Chain store 59", store.getEstablishment().getName());
+        assertEquals(store.getEstablishment().getId(), results.get(59).getUser().getEstablishmentId());
+        assertTrue(passwordEncoder.matches("pass123", store.getPasswordHash()));
+        assertNotNull(results.get(60).getUser().getFoodBankId());
+    }
+
+    @Test
+    void reportsEveryRejectedRowAndCreatesTheOthers() {
+        NewUserDTO noAddress = store("noaddress@chain.example.com", "No address");
+        noAddress.setEstablishmentAddress(" ");
+        List<NewUserDTO> rows = List.of(
+                store("fine@chain.example.com", "Fine"),
+                store("estab1@example.com", "Already registered"),
+                noAddress,
+                store("fine@chain.example.com", "Repeated"));
+
+        List<UserRegistrationResultDTO> results = userService.createUsers(rows);
+
+        assertEquals(List.of(RegistrationResult.CREATED, RegistrationResult.EMAIL_TAKEN,
+                        RegistrationResult.INVALID, RegistrationResult.DUPLICATE),
+                results.stream().map(UserRegistrationResultDTO::getResult).toList());
+        assertEquals(List.of(1L, 2L, 3L, 4L), results.stream().map(UserRegistrationResultDTO::getRow).toList());
+        assertEquals("Fine", userRepository.findByEmail("fine@chain.example.com").orElseThrow()
+                .getEstablishment().getName());
+        assertTrue(userRepository.findByEmail("noaddress@chain.example.com").isEmpty());
+    }
+
+    @Test
+    void emailTakenWhileTheBatchIsHashedIsReportedAndTheOthersAreCreated() {
+        // another registration takes the email after the conflict query, before the insert
+        doAnswer(invocation -> {
+            userService.createUser(store("racer@chain.example.com", "Registered first"));
+            return invocation.callRealMethod();
+        }).when(boundedPasswordEncoder).encodeAll(anyList());
+        List<NewUserDTO> rows = List.of(
+                store("before-race@chain.example.com", "Before"),
+                store("racer@chain.example.com", "Registered second"),
+                store("after-race@chain.example.com", "After"));
+
+        List<UserRegistrationResultDTO> results = userService.createUsers(rows);
+
+        assertEquals(List.of(RegistrationResult.CREATED, RegistrationResult.EMAIL_TAKEN, RegistrationResult.CREATED),
+                results.stream().map(UserRegistrationResultDTO::getResult).toList());
+        assertTrue(userRepository.findByEmail("before-race@chain.example.com").isPresent());
+        assertTrue(userRepository.findByEmail("after-race@chain.example.com").isPresent());
+        assertEquals("Registered first", userRepository.findByEmail("racer@chain.example.com").orElseThrow()
+                .getEstablishment().getName());
+    }
+
+    private NewUserDTO store(String email, String name) {
+        NewUserDTO dto = new NewUserDTO();
+        dto.setEmail(email);
+        dto.setPassword("pass123");
+        dto.setRole(Role.Establishment);
+        dto.setEstablishmentName(name);
+        dto.setEstablishmentAddress("Chain street 1");
+        dto.setEstablishmentContactPhone("555-0000");
+        return dto;
+    }
+
+    private NewUserDTO foodBank(String email) {
+        NewUserDTO dto = new NewUserDTO();
+        dto.setEmail(email);
+        dto.setPassword("pass123");
+        dto.setRole(Role.FoodBank);
+        dto.setFoodBankName("Chain food bank");
+        dto.setFoodBankAddress("Bank street 1");
+        dto.setFoodBankContactPhone("555-0001");
+        return dto;
+    }
+}
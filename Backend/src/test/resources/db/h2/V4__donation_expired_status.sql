@@ -0,0 +1,13 @@
+-- Same as db/postgresql/V4: H2 generates its own name for the inline status check of V1, look it up.
+execute immediate (
+    select 'alter table donations drop constraint "' || tc.constraint_name || '"'
+    from information_schema.table_constraints tc
+    join information_schema.check_constraints cc
+        on cc.constraint_schema = tc.constraint_schema and cc.constraint_name = tc.constraint_name
+    where tc.table_schema = current_schema
+      and tc.table_name = 'donations'
+      and tc.constraint_type = 'CHECK'
+      and cc.check_clause like '%status%AVAILABLE%'
+);
+alter table donations add constraint donations_status_check
+    check (status in ('RESERVED', 'COMPLETED', 'AVAILABLE', 'EXPIRED'));
@@ -0,0 +1,4 @@
+-- Same as db/postgresql/V6: test databases are still empty here, the sequences start at 1.
+create sequence users_seq start with 1 increment by 50;
+create sequence establishments_seq start with 1 increment by 50;
+create sequence food_banks_seq start with 1 increment by 50;